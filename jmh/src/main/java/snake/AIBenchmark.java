@@ -0,0 +1,90 @@
+package snake;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the AI's decision and the movement and collision checks it's built on.
+ * NOTE: None of the benchmarks change the world, so every operation sees the same world.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AIBenchmark {
+    private List<SnakeAI> snakeAIList;
+    private int direction;
+
+    /**
+     * Creates a separate AI per snake of the freshly laid out world, so deciding doesn't change the snakes' own AIs.
+     * @param state the world
+     */
+    @Setup(Level.Iteration)
+    public void setup(WorldState state) {
+        snakeAIList = new ArrayList<>();
+        for(Snake snake : state.snakeList) {
+            SnakeAI snakeAI = new SnakeAI(snake);
+            snakeAI.attachRandom(new SnakeRandom(WorldState.SEED));
+            snakeAIList.add(snakeAI);
+        }
+
+        direction = 0;
+    }
+
+    /**
+     * Benchmarks SnakeAI.getAIDirection for every snake in turn.
+     * @param state the world
+     * @return the direction
+     */
+    @Benchmark
+    public int getAIDirection(WorldState state) {
+        state.nextSnake();
+
+        return snakeAIList.get(state.index).getAIDirection();
+    }
+
+    /**
+     * Benchmarks Snake.spotWillCollide for every snake and direction in turn.
+     * @param state the world
+     * @return true if the snake will collide
+     */
+    @Benchmark
+    public boolean spotWillCollide(WorldState state) {
+        return state.nextSnake().spotWillCollide(nextDirection());
+    }
+
+    /**
+     * Benchmarks MoveableBlock.getMovedPosition for every snake and direction in turn.
+     * @param state the world
+     * @return the moved position
+     */
+    @Benchmark
+    public Position getMovedPosition(WorldState state) {
+        return state.nextSnake().getMovedPosition(nextDirection());
+    }
+
+    /**
+     * Gets the next direction, going over every direction in turn.
+     * @return the direction
+     */
+    private int nextDirection() {
+        direction = (direction + 1) & (Block.DIRECTION_AMOUNT - 1);
+
+        return direction;
+    }
+}
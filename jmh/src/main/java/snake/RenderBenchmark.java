@@ -0,0 +1,88 @@
+package snake;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of stepping the world by a tick and painting a frame of it into an offscreen image, like the game loop
+ * does at its default rates.
+ * The cache parameter drops the panel's cached images before every frame to measure what they save, "world" keeps
+ * every cache, "background" draws the whole world on the cached background every frame and "none" renders the
+ * background and the whole world every frame.
+ * NOTE: Every iteration is a single shot of BATCH_SIZE frames on a freshly laid out world, so the snakes stay close to
+ * the benchmarked length, the score is the time of the whole batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 50, batchSize = RenderBenchmark.BATCH_SIZE)
+@Measurement(iterations = 50, batchSize = RenderBenchmark.BATCH_SIZE)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderBenchmark {
+    public static final int PANEL_WIDTH = 1280, PANEL_HEIGHT = 720, BATCH_SIZE = 8;
+
+    @Param({"world", "background", "none"})
+    public String cache;
+
+    private SnakePanel panel;
+    private BufferedImage image;
+    private Graphics2D g2;
+
+    /**
+     * Creates a panel of the freshly laid out world and paints its first frame, which renders every cache.
+     * @param state the world
+     */
+    @Setup(Level.Iteration)
+    public void setup(WorldState state) {
+        panel = new SnakePanel(state.world);
+        panel.setSize(PANEL_WIDTH, PANEL_HEIGHT);
+        image = new BufferedImage(PANEL_WIDTH, PANEL_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        g2 = image.createGraphics();
+
+        panel.paintComponent(g2);
+    }
+
+    /**
+     * Disposes the image's graphics.
+     */
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        g2.dispose();
+    }
+
+    /**
+     * Benchmarks SnakePanel.stepWorld followed by SnakePanel.paintComponent, dropping the caches that aren't
+     * benchmarked in between.
+     * @return the image
+     */
+    @Benchmark
+    public BufferedImage paintComponent() {
+        panel.stepWorld();
+
+        if(cache.equals("background")) {
+            panel.invalidateWorldImage();
+        }
+        else if(cache.equals("none")) {
+            panel.invalidateBackground();
+        }
+
+        panel.paintComponent(g2);
+
+        return image;
+    }
+}
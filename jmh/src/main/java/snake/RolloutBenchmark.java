@@ -0,0 +1,93 @@
+package snake;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of stepping the world with every snake deciding with the rollout AI within the default AI budget.
+ * The decisions and fallbacks counters count the snakes' decisions and how many of them fell back to the probabilistic
+ * behavior because the playouts didn't finish in time.
+ * NOTE: Every iteration is a single shot of BATCH_SIZE ticks on a freshly laid out world, so the snakes stay close to
+ * the benchmarked length, the score is the time of the whole batch. The warmup is long since decisions that are cut
+ * short by the budget only get fast enough to play out once the playouts are compiled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 200, batchSize = RolloutBenchmark.BATCH_SIZE)
+@Measurement(iterations = 50, batchSize = RolloutBenchmark.BATCH_SIZE)
+@Fork(1)
+public class RolloutBenchmark {
+    public static final int BATCH_SIZE = 8;
+
+    /**
+     * Counts the decisions and fallbacks of an iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long decisions, fallbacks;
+
+        /**
+         * Resets the counters for the iteration.
+         */
+        @Setup(Level.Iteration)
+        public void setup() {
+            decisions = 0;
+            fallbacks = 0;
+        }
+    }
+
+    /**
+     * Makes every snake of the freshly laid out world decide with the rollout AI within the default AI budget.
+     * @param state the world
+     */
+    @Setup(Level.Iteration)
+    public void setup(WorldState state) {
+        state.world.setAIStrategy(SnakeAIRegistry.ROLLOUT);
+        state.world.setAIBudget(Snake.DEFAULT_AI_BUDGET);
+    }
+
+    /**
+     * Benchmarks SnakeWorld.step, counting the snakes that decided and the ones that fell back.
+     * NOTE: Every snake that's alive at the start of the tick decides in it.
+     * @param state the world
+     * @param counters the counters
+     * @return the world
+     */
+    @Benchmark
+    public SnakeWorld step(WorldState state, Counters counters) {
+        List<Snake> snakeList = state.snakeList;
+
+        long fallbacks = 0;
+        for(int i = 0; i < snakeList.size(); i++) {
+            Snake snake = snakeList.get(i);
+            fallbacks -= snake.getAIFallbacks();
+            if(!snake.isDead()) {
+                counters.decisions++;
+            }
+        }
+
+        state.world.step();
+
+        for(int i = 0; i < snakeList.size(); i++) {
+            fallbacks += snakeList.get(i).getAIFallbacks();
+        }
+        counters.fallbacks += fallbacks;
+
+        return state.world;
+    }
+}
@@ -0,0 +1,71 @@
+package snake;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of taking a snapshot of the world, forking it into a new world and restoring a world from it, the
+ * operations a lookahead search runs for every candidate future.
+ * NOTE: None of the benchmarks change the world, restoring restores a fork of it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBenchmark {
+    private SnakeSnapshot snapshot;
+    private SnakeWorld fork;
+
+    /**
+     * Takes a snapshot of the freshly laid out world and forks the world it restores.
+     * @param state the world
+     */
+    @Setup(Level.Iteration)
+    public void setup(WorldState state) {
+        snapshot = state.world.snapshot();
+        fork = snapshot.fork();
+    }
+
+    /**
+     * Benchmarks SnakeWorld.snapshot.
+     * @param state the world
+     * @return the snapshot
+     */
+    @Benchmark
+    public SnakeSnapshot snapshot(WorldState state) {
+        return state.world.snapshot();
+    }
+
+    /**
+     * Benchmarks SnakeSnapshot.fork.
+     * @return the forked world
+     */
+    @Benchmark
+    public SnakeWorld fork() {
+        return snapshot.fork();
+    }
+
+    /**
+     * Benchmarks SnakeSnapshot.restore.
+     * @return the restored world
+     */
+    @Benchmark
+    public SnakeWorld restore() {
+        snapshot.restore(fork);
+
+        return fork;
+    }
+}
@@ -0,0 +1,55 @@
+package snake;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of a whole tick and of a single snake's move.
+ * NOTE: Every iteration is a single shot of a batch of operations on a freshly laid out world, so the snakes stay
+ * close to the benchmarked length, the score is the time of the whole batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 500, batchSize = TickBenchmark.STEP_BATCH_SIZE)
+@Measurement(iterations = 500, batchSize = TickBenchmark.STEP_BATCH_SIZE)
+@Fork(1)
+public class TickBenchmark {
+    public static final int STEP_BATCH_SIZE = 16, RUN_BATCH_SIZE = 256;
+
+    /**
+     * Benchmarks SnakeWorld.step.
+     * @param state the world
+     * @return the tick
+     */
+    @Benchmark
+    public long step(WorldState state) {
+        state.world.step();
+
+        return state.world.getTick();
+    }
+
+    /**
+     * Benchmarks Snake.run for every snake in turn.
+     * @param state the world
+     * @return the snake's position
+     */
+    @Benchmark
+    @Warmup(iterations = 500, batchSize = TickBenchmark.RUN_BATCH_SIZE)
+    @Measurement(iterations = 500, batchSize = TickBenchmark.RUN_BATCH_SIZE)
+    public Position run(WorldState state) {
+        Snake snake = state.nextSnake();
+        snake.run(true);
+
+        return snake.position;
+    }
+}
@@ -0,0 +1,132 @@
+package snake;
+
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A world shared by the benchmarks, laid out from a fixed seed for every combination of the parameters.
+ * NOTE: The world is laid out again before every iteration, so the benchmarks that play it measure snakes of the
+ * benchmarked length instead of whatever length they played down to.
+ */
+@State(Scope.Benchmark)
+public class WorldState {
+    public static final long SEED = 42;
+
+    @Param({"64", "256"})
+    public int size;
+
+    @Param({"4", "64"})
+    public int snakes;
+
+    @Param({"0", "48"})
+    public int length;
+
+    @Param({"8", "64"})
+    public int foods;
+
+    public SnakeWorld world;
+    public List<Snake> snakeList;
+    public int index;
+
+    /**
+     * Creates the world and lays its snakes out at the benchmarked length with respawn on death turned on.
+     */
+    @Setup(Level.Iteration)
+    public void setup() {
+        world = new SnakeWorld(size, size, snakes, foods, SnakeWorld.DEFAULT_TELEPORTER_AMOUNT, SEED);
+        world.setAIBudget(Long.MAX_VALUE);
+        world.toggleRespawnOnDeath();
+
+        snakeList = world.getSnakeList();
+        index = 0;
+
+        layOutSnakes();
+    }
+
+    /**
+     * Lays the snakes out alive at exactly the benchmarked length.
+     * The board is walked as one path that winds through its rows, every snake gets an equal stretch of the path and
+     * fills it from the start, so the rest of the stretch lies free in front of its head.
+     * NOTE: The foods and teleporters are moved to free cells afterwards, a snake doesn't eat or teleport while it's
+     * laid out.
+     */
+    private void layOutSnakes() {
+        int stretch = size * size / snakes;
+        if(length + 1 >= stretch) {
+            throw new IllegalArgumentException(snakes + " snakes of length " + length + " don't fit in a " + size + "x" + size + " world");
+        }
+
+        // move every head off the spawns first, so no snake is laid out over another snake's spawn
+        for(int i = 0; i < snakeList.size(); i++) {
+            int cell = i * stretch;
+            snakeList.get(i).respawn(getPathDirection(cell), getPathPosition(cell));
+        }
+
+        for(int i = 0; i < snakeList.size(); i++) {
+            Snake snake = snakeList.get(i);
+            int cell = i * stretch;
+
+            snake.toggleAIStatus();
+            snake.getBody().grow(length);
+            for(int j = 0; j < length; j++) {
+                snake.setDirection(getPathDirection(cell + j));
+                snake.move();
+            }
+            snake.setDirection(getPathDirection(cell + length));
+            snake.toggleAIStatus();
+
+            if(snake.isDead() || snake.getBody().getLength() != length) {
+                throw new IllegalStateException("snake " + i + " was laid out at length " + snake.getBody().getLength() + " instead of " + length);
+            }
+        }
+
+        for(Food food : world.getFoodList()) {
+            food.teleport();
+        }
+
+        for(Teleporter teleporter : world.getTeleporterList()) {
+            teleporter.teleport();
+        }
+    }
+
+    /**
+     * Gets the position of a cell of the path winding through the rows, left to right in even rows and right to left
+     * in odd rows.
+     * @param cell the cell's index along the path
+     * @return the position
+     */
+    private Position getPathPosition(int cell) {
+        int row = cell / size;
+        int column = row % 2 == 0 ? cell % size : size - 1 - cell % size;
+
+        return new Position(column, row);
+    }
+
+    /**
+     * Gets the direction from a cell of the path to the next one.
+     * @param cell the cell's index along the path
+     * @return the direction
+     */
+    private int getPathDirection(int cell) {
+        if((cell + 1) % size == 0) {
+            return Block.DOWN;
+        }
+
+        return (cell / size) % 2 == 0 ? Block.RIGHT : Block.LEFT;
+    }
+
+    /**
+     * Gets the next snake, going over every snake in turn.
+     * @return the snake
+     */
+    public Snake nextSnake() {
+        index = index + 1 < snakeList.size() ? index + 1 : 0;
+
+        return snakeList.get(index);
+    }
+}
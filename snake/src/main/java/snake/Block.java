@@ -1,13 +1,15 @@
-import java.util.Random;
+package snake;
 
 /**
  * A block.
  */
 public class Block {
-    public static final int UP = 0, DOWN = 1, LEFT = 2, RIGHT = 3, DEFAULT_DIRECTION = RIGHT;
+    public static final int UP = 0, DOWN = 1, LEFT = 2, RIGHT = 3, DEFAULT_DIRECTION = RIGHT, DIRECTION_AMOUNT = 4;
+    public static final String[] DIRECTION_NAMES = {"up", "down", "left", "right"};
+    protected static final int[] DIRECTION_X = {0, 0, -1, 1}, DIRECTION_Y = {-1, 1, 0, 0}, OPPOSITE_DIRECTIONS = {DOWN, UP, RIGHT, LEFT};
     protected int direction, initialDirection;
     protected Position position, initialPosition, minPosition, maxPosition;
-    private Random random;
+    private SnakeRandom random;
 
 
     /**
@@ -78,14 +80,78 @@ public class Block {
         this.minPosition = minPosition;
         this.maxPosition = maxPosition;
 
-        random = new Random();
+        random = null;
+    }
+
+    /**
+     * Checks if a value is one of UP, DOWN, LEFT or RIGHT.
+     * @param direction the value to check
+     * @return true if the value is a direction
+     */
+    public static boolean isDirection(int direction) {
+        return direction >= UP && direction < DIRECTION_AMOUNT;
+    }
+
+    /**
+     * Attaches a random number generator used for teleporting, so teleports can be reproduced from a seed.
+     * NOTE: A block can't teleport before a random number generator is attached.
+     * @param random the random number generator
+     */
+    public void attachRandom(SnakeRandom random) {
+        this.random = random;
+    }
+
+    /**
+     * Gets the random number generator.
+     * @return the random number generator
+     */
+    protected SnakeRandom getRandom() {
+        return random;
     }
 
     /**
      * Teleports the block to a random position within its min and max positions.
      */
     public void teleport() {
+        teleportToAnyPosition();
+    }
+
+    /**
+     * Teleports the block to a random cell nothing occupies.
+     * NOTE: If there is no grid or no free cell the block teleports to any position.
+     * @param occupancyGrid the occupancy grid, or null
+     */
+    protected void teleportToFreeCell(OccupancyGrid occupancyGrid) {
+        int cell = occupancyGrid == null ? OccupancyGrid.OUT_OF_BOUNDS : occupancyGrid.getRandomFreeCell(getTeleportRandom());
+
+        if(cell == OccupancyGrid.OUT_OF_BOUNDS) {
+            teleportToAnyPosition();
+        }
+        else {
+            position.x = occupancyGrid.getCellX(cell);
+            position.y = occupancyGrid.getCellY(cell);
+        }
+    }
+
+    /**
+     * Teleports the block to a random position within its min and max positions, occupied or not.
+     */
+    private void teleportToAnyPosition() {
+        SnakeRandom random = getTeleportRandom();
         position.x = random.nextInt(maxPosition.x) + minPosition.x;
         position.y = random.nextInt(maxPosition.y) + minPosition.y;
     }
+
+    /**
+     * Gets the random number generator to teleport with.
+     * @return the random number generator
+     * @throws IllegalStateException if no random number generator is attached
+     */
+    private SnakeRandom getTeleportRandom() {
+        if(random == null) {
+            throw new IllegalStateException("A block can't teleport without a random number generator");
+        }
+
+        return random;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,143 @@
+package snake;
+
+/**
+ * A food.
+ */
+public class Food extends Block {
+    private OccupancyGrid occupancyGrid;
+    private FoodIndex foodIndex;
+    private int claimId;
+
+    /**Block
+     * Creates a food.
+     * @param minPosition the food's min position
+     * @param maxPosition the food's max position
+     * @param random the random number generator the food teleports with
+     */
+    public Food(Position minPosition, Position maxPosition, SnakeRandom random) {
+        super(minPosition, maxPosition);
+
+        attachRandom(random);
+        claimId = FoodClaimTable.NO_ID;
+        teleport();
+    }
+
+    /**
+     * Attaches an occupancy grid that tracks the food's cell and teleports the food to a cell nothing occupies.
+     * NOTE: The food is placed before it is added so where it was before doesn't affect the grid.
+     * @param occupancyGrid the occupancy grid
+     */
+    public void attachOccupancyGrid(OccupancyGrid occupancyGrid) {
+        detachOccupancyGrid();
+
+        this.occupancyGrid = occupancyGrid;
+        teleportToFreeCell(occupancyGrid);
+        occupancyGrid.addFood(occupancyGrid.getCell(position));
+    }
+
+    /**
+     * Detaches the food from its occupancy grid.
+     */
+    public void detachOccupancyGrid() {
+        if(occupancyGrid != null) {
+            occupancyGrid.removeFood(occupancyGrid.getCell(position));
+            occupancyGrid = null;
+        }
+    }
+
+    /**
+     * Attaches a food index that tracks the food's position.
+     * @param foodIndex the food index
+     */
+    public void attachFoodIndex(FoodIndex foodIndex) {
+        detachFoodIndex();
+
+        this.foodIndex = foodIndex;
+        foodIndex.add(this);
+    }
+
+    /**
+     * Detaches the food from its food index.
+     */
+    public void detachFoodIndex() {
+        if(foodIndex != null) {
+            foodIndex.remove(this);
+            foodIndex = null;
+        }
+    }
+
+    /**
+     * Gets the food's id within its claim table.
+     * @return the id, or FoodClaimTable.NO_ID if the food was never claimed
+     */
+    protected int getClaimId() {
+        return claimId;
+    }
+
+    /**
+     * Sets the food's id within its claim table.
+     * @param claimId the id
+     */
+    protected void setClaimId(int claimId) {
+        this.claimId = claimId;
+    }
+
+    /**
+     * Writes the food's position.
+     * @param state the state to write to
+     */
+    public void writeState(StateBuffer state) {
+        state.writeSignedVarint(position.x);
+        state.writeSignedVarint(position.y);
+    }
+
+    /**
+     * Moves the food to the position written by writeState.
+     * @param state the state to read from
+     */
+    public void readState(StateBuffer state) {
+        if(occupancyGrid != null) {
+            occupancyGrid.removeFood(occupancyGrid.getCell(position));
+        }
+
+        if(foodIndex != null) {
+            foodIndex.remove(this);
+        }
+
+        position.x = (int) state.readSignedVarint();
+        position.y = (int) state.readSignedVarint();
+
+        if(occupancyGrid != null) {
+            occupancyGrid.addFood(occupancyGrid.getCell(position));
+        }
+
+        if(foodIndex != null) {
+            foodIndex.add(this);
+        }
+    }
+
+    /**
+     * Teleports the food to a random position within its min and max positions.
+     * NOTE: With an occupancy grid attached the food only teleports to cells nothing occupies.
+     */
+    @Override
+    public void teleport() {
+        if(occupancyGrid != null) {
+            occupancyGrid.removeFood(occupancyGrid.getCell(position));
+        }
+
+        if(foodIndex != null) {
+            foodIndex.remove(this);
+        }
+
+        teleportToFreeCell(occupancyGrid);
+
+        if(occupancyGrid != null) {
+            occupancyGrid.addFood(occupancyGrid.getCell(position));
+        }
+
+        if(foodIndex != null) {
+            foodIndex.add(this);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,156 @@
+package snake;
+
+import java.util.Arrays;
+
+/**
+ * A claim table that records which snake has each food as its goal food.
+ * Every claim, release and steal is O(1), snakes that lose a food are told directly instead of broadcasting to every snake.
+ * NOTE: Foods get an id the first time they are claimed, the id is recycled when the food is removed.
+ */
+public class FoodClaimTable {
+    public static final int NO_ID = -1;
+    private static final int INITIAL_CAPACITY = 16;
+    private Snake[] claimants;
+    private int[] versions;
+    private int[] freeIds;
+    private int freeIdAmount, idAmount;
+
+    /**
+     * Creates an empty claim table.
+     */
+    public FoodClaimTable() {
+        claimants = new Snake[INITIAL_CAPACITY];
+        versions = new int[INITIAL_CAPACITY];
+        freeIds = new int[INITIAL_CAPACITY];
+        freeIdAmount = 0;
+        idAmount = 0;
+    }
+
+    /**
+     * Gets the snake that has a food as its goal food.
+     * @param food the food
+     * @return the snake, or null if no snake claimed the food
+     */
+    public Snake getClaimant(Food food) {
+        int id = food.getClaimId();
+
+        return id == NO_ID ? null : claimants[id];
+    }
+
+    /**
+     * Gets the version of a food's claim, which changes every time the food is claimed or eaten.
+     * NOTE: A snake remembers the version when it decides on a food so it can tell if the food was taken before it commits.
+     * @param food the food
+     * @return the version
+     */
+    public int getVersion(Food food) {
+        int id = food.getClaimId();
+
+        return id == NO_ID ? 0 : versions[id];
+    }
+
+    /**
+     * Claims a food for a snake, stealing it from the snake that claimed it before.
+     * @param snake the snake
+     * @param food the food
+     * @param version the version of the food's claim when the snake decided on it
+     * @return true if the food was claimed, false if it was claimed or eaten since the snake decided on it
+     */
+    public boolean claim(Snake snake, Food food, int version) {
+        if(getVersion(food) != version) {
+            return false;
+        }
+
+        int id = getId(food);
+
+        // tell the other guy I took it
+        Snake claimant = claimants[id];
+        if(claimant != null && claimant != snake) {
+            claimant.loseGoalFood(food);
+        }
+
+        claimants[id] = snake;
+        versions[id]++;
+
+        return true;
+    }
+
+    /**
+     * Releases a snake's claim on a food.
+     * @param snake the snake
+     * @param food the food
+     */
+    public void release(Snake snake, Food food) {
+        int id = food.getClaimId();
+
+        if(id != NO_ID && claimants[id] == snake) {
+            claimants[id] = null;
+        }
+    }
+
+    /**
+     * Takes a food that was eaten from the snake that claimed it.
+     * @param food the food
+     */
+    public void take(Food food) {
+        int id = getId(food);
+
+        Snake claimant = claimants[id];
+        if(claimant != null) {
+            claimants[id] = null;
+            claimant.loseGoalFood(food);
+        }
+
+        versions[id]++;
+    }
+
+    /**
+     * Removes a food from the table, taking it from the snake that claimed it.
+     * @param food the food
+     */
+    public void remove(Food food) {
+        int id = food.getClaimId();
+        if(id == NO_ID) {
+            return;
+        }
+
+        take(food);
+
+        // recycle the id
+        if(freeIdAmount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeIds.length * 2);
+        }
+
+        freeIds[freeIdAmount++] = id;
+        food.setClaimId(NO_ID);
+    }
+
+    /**
+     * Gets a food's id, giving it one if it doesn't have one yet.
+     * @param food the food
+     * @return the id
+     */
+    private int getId(Food food) {
+        int id = food.getClaimId();
+        if(id != NO_ID) {
+            return id;
+        }
+
+        if(freeIdAmount > 0) {
+            id = freeIds[--freeIdAmount];
+        }
+        else {
+            if(idAmount == claimants.length) {
+                claimants = Arrays.copyOf(claimants, idAmount * 2);
+                versions = Arrays.copyOf(versions, idAmount * 2);
+            }
+
+            id = idAmount++;
+        }
+
+        claimants[id] = null;
+        food.setClaimId(id);
+
+        return id;
+    }
+}
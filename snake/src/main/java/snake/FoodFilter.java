@@ -0,0 +1,14 @@
+package snake;
+
+/**
+ * A filter that decides which foods a nearest food query may return.
+ */
+public interface FoodFilter {
+    /**
+     * Checks if a food may be returned.
+     * @param food the food
+     * @param squaredDistance the squared distance from the query position to the food
+     * @return true if the food may be returned
+     */
+    boolean accept(Food food, int squaredDistance);
+}
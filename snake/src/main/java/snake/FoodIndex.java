@@ -0,0 +1,186 @@
+package snake;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A spatial index that buckets foods by square regions of the board to answer nearest food queries.
+ * NOTE: The index has to be told when a food is added, removed or teleported, Food does this when attached.
+ */
+public class FoodIndex {
+    public static final int BUCKET_SHIFT = 4;
+    private final int minX, minY, bucketColumns, bucketRows;
+    private List<List<Food>> buckets;
+    private int size;
+
+    /**
+     * Creates a food index.
+     * @param minPosition the board's min position
+     * @param maxPosition the board's max position
+     */
+    public FoodIndex(Position minPosition, Position maxPosition) {
+        minX = minPosition.x;
+        minY = minPosition.y;
+
+        int bucketSize = 1 << BUCKET_SHIFT;
+        bucketColumns = Math.max((maxPosition.x - minPosition.x + bucketSize - 1) >> BUCKET_SHIFT, 1);
+        bucketRows = Math.max((maxPosition.y - minPosition.y + bucketSize - 1) >> BUCKET_SHIFT, 1);
+
+        buckets = new ArrayList<>(bucketColumns * bucketRows);
+        for(int i = 0; i < bucketColumns * bucketRows; i++) {
+            buckets.add(new ArrayList<Food>(0));
+        }
+
+        size = 0;
+    }
+
+    /**
+     * Adds a food at its current position.
+     * @param food the food
+     */
+    public void add(Food food) {
+        buckets.get(getBucket(food.position.x, food.position.y)).add(food);
+        size++;
+    }
+
+    /**
+     * Removes a food from its current position.
+     * NOTE: The food must not have moved since it was added.
+     * @param food the food
+     */
+    public void remove(Food food) {
+        List<Food> bucket = buckets.get(getBucket(food.position.x, food.position.y));
+
+        // swap remove, the order within a bucket doesn't matter
+        for(int i = 0; i < bucket.size(); i++) {
+            if(bucket.get(i) == food) {
+                int last = bucket.size() - 1;
+                bucket.set(i, bucket.get(last));
+                bucket.remove(last);
+                size--;
+
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gets the amount of foods.
+     * @return the amount of foods
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets a food at an x and y value.
+     * NOTE: Only the bucket of the x and y value is searched, so this is about as fast as a lookup by cell.
+     * @param x the x value
+     * @param y the y value
+     * @return a food at the x and y value, or null if there is none
+     */
+    public Food getFoodAt(int x, int y) {
+        List<Food> bucket = buckets.get(getBucket(x, y));
+        for(int i = 0; i < bucket.size(); i++) {
+            Food food = bucket.get(i);
+            if(food.position.x == x && food.position.y == y) {
+                return food;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets the closest food to a position that the filter accepts.
+     * The buckets are searched in rings around the position until no unsearched bucket can hold a closer food.
+     * Foods at the same distance go to the one with the smallest position key, so the answer only depends on where the
+     * foods are and not on the order they were added to the index in.
+     * NOTE: The filter is only asked about foods that would beat the closest food accepted so far.
+     * @param x the x value
+     * @param y the y value
+     * @param filter the filter, or null to accept every food
+     * @return the closest accepted food, or null if no food is accepted
+     */
+    public Food getClosestFood(int x, int y, FoodFilter filter) {
+        int bucketX = getBucketX(x);
+        int bucketY = getBucketY(y);
+        int maxRing = Math.max(Math.max(bucketX, bucketColumns - 1 - bucketX), Math.max(bucketY, bucketRows - 1 - bucketY));
+
+        Food closestFood = null;
+        int smallestDistance = Integer.MAX_VALUE;
+        int closestKey = Integer.MAX_VALUE;
+        for(int ring = 0; ring <= maxRing; ring++) {
+            // every cell of a ring is at least this far away on one axis
+            if(ring > 0) {
+                long ringDistance = ((long) (ring - 1) << BUCKET_SHIFT) + 1;
+                if(ringDistance * ringDistance > smallestDistance) {
+                    break;
+                }
+            }
+
+            for(int dy = -ring; dy <= ring; dy++) {
+                int row = bucketY + dy;
+                if(row < 0 || row >= bucketRows) {
+                    continue;
+                }
+
+                // the top and bottom rows of a ring are whole, the others only have their ends
+                int step = dy == -ring || dy == ring ? 1 : Math.max(ring * 2, 1);
+                for(int dx = -ring; dx <= ring; dx += step) {
+                    int column = bucketX + dx;
+                    if(column < 0 || column >= bucketColumns) {
+                        continue;
+                    }
+
+                    List<Food> bucket = buckets.get(row * bucketColumns + column);
+                    for(int i = 0; i < bucket.size(); i++) {
+                        Food food = bucket.get(i);
+
+                        int distance = food.position.getSquaredDistance(x, y);
+                        if(distance > smallestDistance) {
+                            continue;
+                        }
+
+                        int key = Position.pack(food.position.x, food.position.y);
+                        if((distance < smallestDistance || key < closestKey) && (filter == null || filter.accept(food, distance))) {
+                            smallestDistance = distance;
+                            closestKey = key;
+                            closestFood = food;
+                        }
+                    }
+                }
+            }
+        }
+
+        return closestFood;
+    }
+
+    /**
+     * Gets the bucket of an x and y value.
+     * @param x the x value
+     * @param y the y value
+     * @return the bucket
+     */
+    private int getBucket(int x, int y) {
+        return getBucketY(y) * bucketColumns + getBucketX(x);
+    }
+
+    /**
+     * Gets the bucket column of an x value, clamped to the board.
+     * @param x the x value
+     * @return the bucket column
+     */
+    private int getBucketX(int x) {
+        return Math.max(Math.min((x - minX) >> BUCKET_SHIFT, bucketColumns - 1), 0);
+    }
+
+    /**
+     * Gets the bucket row of a y value, clamped to the board.
+     * @param y the y value
+     * @return the bucket row
+     */
+    private int getBucketY(int y) {
+        return Math.max(Math.min((y - minY) >> BUCKET_SHIFT, bucketRows - 1), 0);
+    }
+}
@@ -1,3 +1,5 @@
+package snake;
+
 import java.awt.*;
 import java.awt.geom.Rectangle2D;
 
@@ -21,6 +23,14 @@ public class FoodShape {
         foodRect = new Rectangle2D.Double();
     }
 
+    /**
+     * Gets the food.
+     * @return the food
+     */
+    public Food getFood() {
+        return food;
+    }
+
     /**
      * Draws the food.
      * @param g2 the graphics2D
@@ -0,0 +1,147 @@
+package snake;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of latencies in nanoseconds with a bounded relative error over the whole range of a long.
+ * Values below SUB_BUCKET_AMOUNT get a bucket each, larger values are bucketed by their highest bit and the
+ * SUB_BUCKET_BITS bits after it, so a percentile is never more than about 3% above the value it stands for.
+ * NOTE: Recording is safe from any amount of threads, a percentile read while values are recorded may miss some of them.
+ */
+public class LatencyHistogram {
+    public static final int SUB_BUCKET_BITS = 5, SUB_BUCKET_AMOUNT = 1 << SUB_BUCKET_BITS;
+    public static final int BUCKET_AMOUNT = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKET_AMOUNT;
+    private final AtomicLongArray counts;
+    private final AtomicLong max;
+
+    /**
+     * Creates an empty histogram.
+     */
+    public LatencyHistogram() {
+        counts = new AtomicLongArray(BUCKET_AMOUNT);
+        max = new AtomicLong();
+    }
+
+    /**
+     * Records a latency.
+     * NOTE: Negative latencies, which a clock that went backwards can give, are recorded as 0.
+     * @param value the latency in nanoseconds
+     */
+    public void record(long value) {
+        if(value < 0) {
+            value = 0;
+        }
+
+        counts.incrementAndGet(getIndex(value));
+
+        // the max only changes for the rare value above it, so the compare and set hardly ever retries
+        long currentMax;
+        while(value > (currentMax = max.get()) && !max.compareAndSet(currentMax, value)) {
+            // retry against the new max
+        }
+    }
+
+    /**
+     * Removes every recorded latency.
+     */
+    public void reset() {
+        for(int i = 0; i < BUCKET_AMOUNT; i++) {
+            counts.set(i, 0);
+        }
+
+        max.set(0);
+    }
+
+    /**
+     * Gets the amount of recorded latencies.
+     * @return the amount
+     */
+    public long getCount() {
+        long count = 0;
+        for(int i = 0; i < BUCKET_AMOUNT; i++) {
+            count += counts.get(i);
+        }
+
+        return count;
+    }
+
+    /**
+     * Gets the largest recorded latency.
+     * @return the latency in nanoseconds, 0 if none was recorded
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Gets the latency that the given percentage of recorded latencies are at or below.
+     * @param percentile the percentage, from 0 to 100
+     * @return the highest latency in the percentile's bucket in nanoseconds, 0 if none was recorded
+     */
+    public long getPercentile(double percentile) {
+        long[] snapshot = new long[BUCKET_AMOUNT];
+        long count = 0;
+        for(int i = 0; i < BUCKET_AMOUNT; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+
+        if(count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * count));
+        long seen = 0;
+        for(int i = 0; i < BUCKET_AMOUNT; i++) {
+            seen += snapshot[i];
+            if(seen >= rank) {
+                return Math.min(getHighestValue(i), getMax());
+            }
+        }
+
+        return getMax();
+    }
+
+    /**
+     * Gets a summary of the count, p50, p99, p999 and max.
+     * @return the summary, latencies in microseconds
+     */
+    public String getSummary() {
+        return String.format("count %10d p50 %10.1f p99 %10.1f p999 %10.1f max %10.1f us", getCount(), getPercentile(50) / 1e3,
+                getPercentile(99) / 1e3, getPercentile(99.9) / 1e3, getMax() / 1e3);
+    }
+
+    /**
+     * Gets the bucket of a latency.
+     * @param value the latency, not negative
+     * @return the bucket's index
+     */
+    private static int getIndex(long value) {
+        if(value < SUB_BUCKET_AMOUNT) {
+            return (int) value;
+        }
+
+        int magnitude = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKET_AMOUNT - 1);
+
+        return (shift + 1) * SUB_BUCKET_AMOUNT + subBucket;
+    }
+
+    /**
+     * Gets the highest latency in a bucket.
+     * @param index the bucket's index
+     * @return the latency
+     */
+    private static long getHighestValue(int index) {
+        if(index < SUB_BUCKET_AMOUNT) {
+            return index;
+        }
+
+        int shift = index / SUB_BUCKET_AMOUNT - 1;
+        long lowest = (long) (SUB_BUCKET_AMOUNT + index % SUB_BUCKET_AMOUNT) << shift;
+
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,189 @@
+package snake;
+
+public class MoveableBlock extends Block {
+    protected RewindJournal rewindJournal;
+    protected PositionCache positionCache;
+
+    /**
+     * Creates a moveableBlock with direction set to DEFAULT_DIRECTION and given position with the min and max positions set to 0, 0.
+     * @param position the position
+     */
+    public MoveableBlock(Position position) {
+        this(DEFAULT_DIRECTION, position, new Position(), new Position());
+    }
+
+    /**
+     * Creates a moveableBlock.
+     * @param direction the block's direction
+     * @param position the block's position
+     * @param minPosition the block's min position
+     * @param maxPosition the block's max position
+     */
+    public MoveableBlock(int direction, Position position, Position minPosition, Position maxPosition) {
+        super(direction, position, minPosition, maxPosition);
+
+        rewindJournal = new RewindJournal();
+    }
+
+    /**
+     * Attaches a position cache so moved positions are shared instead of allocated.
+     * NOTE: Positions from the cache must not be mutated, the block must not be teleported in place.
+     * @param positionCache the position cache
+     */
+    public void attachPositionCache(PositionCache positionCache) {
+        this.positionCache = positionCache;
+    }
+
+    /**
+     * Moves the block in its current direction.
+     */
+    public void move() {
+        move(direction);
+    }
+
+    /**
+     * Moves the block.
+     * @param direction the direction to move in
+     */
+    public void move(int direction) {
+        rewindJournal.record(direction, SnakeBody.EMPTY_MOVE);
+
+        position = getMovedPosition(direction, position);
+    }
+
+    /**
+     * Rewinds the block.
+     * @return true if the block could rewind
+     */
+    public boolean rewind() {
+        if(!rewindJournal.isEmpty()) {
+            direction = rewindJournal.getDirection();
+            position = getRewoundPosition();
+            rewindJournal.pop();
+
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets the position before the newest move in the rewind journal.
+     * @return the position before the newest move
+     */
+    protected Position getRewoundPosition() {
+        Position movedPosition = position;
+
+        // undo a teleport before undoing the step
+        int jump = rewindJournal.getJump();
+        if(jump != RewindJournal.NO_CELL) {
+            movedPosition = getPosition(Position.unpackX(jump), Position.unpackY(jump));
+        }
+
+        return getMovedPosition(getOppositeDirection(rewindJournal.getDirection()), movedPosition);
+    }
+
+    /**
+     * Sets the max amount of moves that can be rewound.
+     * @param rewindDepth the max amount of moves
+     */
+    public void setRewindDepth(int rewindDepth) {
+        rewindJournal.setDepth(rewindDepth);
+    }
+
+    /**
+     * Clears the rewind journal.
+     */
+    public void clearRewindJournal() {
+        rewindJournal.clear();
+    }
+
+    /**
+     * Gets the moved position.
+     * @return the position after moving in the given direction
+     */
+    public Position getMovedPosition() {
+        return getMovedPosition(direction, position);
+    }
+
+    /**
+     * Gets the moved position.
+     * @param direction the direction to move in
+     * @return the position after moving in the given direction
+     */
+    public Position getMovedPosition(int direction) {
+        return getMovedPosition(direction, position);
+    }
+
+    /**
+     * Gets the moved position.
+     * @param direction the direction to move in
+     * @param position the position to move from
+     * @return the position after moving in the given direction
+     */
+    public Position getMovedPosition(int direction, Position position) {
+        if(!isDirection(direction)) {
+            return getPosition(position.x, position.y);
+        }
+
+        return getPosition(position.x + DIRECTION_X[direction], position.y + DIRECTION_Y[direction]);
+    }
+
+    /**
+     * Gets the moved position as an int key without allocating.
+     * @param direction the direction to move in
+     * @return the int key of the position after moving in the given direction
+     */
+    public int getMovedKey(int direction) {
+        return getMovedKey(direction, position.toKey());
+    }
+
+    /**
+     * Gets the moved position as an int key without allocating.
+     * @param direction the direction to move in
+     * @param key the int key of the position to move from
+     * @return the int key of the position after moving in the given direction
+     */
+    public static int getMovedKey(int direction, int key) {
+        if(!isDirection(direction)) {
+            return key;
+        }
+
+        return Position.pack(Position.unpackX(key) + DIRECTION_X[direction], Position.unpackY(key) + DIRECTION_Y[direction]);
+    }
+
+    /**
+     * Gets a position from the position cache, or a new position if no cache is attached.
+     * @param x the x value
+     * @param y the y value
+     * @return the position
+     */
+    protected Position getPosition(int x, int y) {
+        if(positionCache != null) {
+            return positionCache.get(x, y);
+        }
+
+        return new Position(x, y);
+    }
+
+    /**
+     * Gets the opposite direction.
+     * @return the opposite direction
+     */
+    public int getOppositeDirection() {
+        return getOppositeDirection(direction);
+    }
+
+    /**
+     * Gets the opposite direction of the given direction.
+     * @param direction the direction
+     * @return the opposite direction
+     */
+    public int getOppositeDirection(int direction) {
+        if(!isDirection(direction)) {
+            return direction;
+        }
+
+        return OPPOSITE_DIRECTIONS[direction];
+    }
+}
@@ -0,0 +1,572 @@
+package snake;
+
+import java.util.Arrays;
+
+/**
+ * An occupancy grid that records which snake heads, snake tails, foods and teleporters occupy each cell of the board.
+ * The cells nothing occupies are kept in a bit set with a Fenwick tree of the free cells per word, so a random free
+ * cell can be picked in O(log cells) by its rank, and the cells whose occupants changed can be tracked so a renderer
+ * only redraws what changed.
+ * NOTE: The picked cell only depends on which cells are free, not on the order they became free, so a world's state
+ * doesn't have to keep any order of the free cells.
+ * NOTE: Cells are indexed by (y - minY) * width + (x - minX), positions outside the board are ignored.
+ * A snake's head is stored as an entry of its own with the owner getHeadOwner(id).
+ * NOTE: The grid takes about six bytes per cell and another five once cells are tracked, so it holds at most
+ * MAX_CELL_AMOUNT cells. Foods and teleporters are counted in a byte per cell, as they're only placed on free cells.
+ */
+public class OccupancyGrid {
+    public static final int OUT_OF_BOUNDS = -1, HEAD_OWNER = -2, MAX_CELL_AMOUNT = 1 << 24, MAX_BLOCKS_PER_CELL = 0xFF;
+    private static final int NO_ENTRY = -1, INITIAL_ENTRY_CAPACITY = 64;
+    private final int minX, minY, width, height;
+    private byte[] foodCounts, teleporterCounts;
+    private int[] cellEntries;
+    private int[] entryOwners, entryCounts, entryNexts;
+    private int freeEntry, entryAmount;
+    private long[] freeCells;
+    private int[] freeCellCounts;
+    private int freeCellAmount, freeCellStep;
+    private boolean[] dirty;
+    private int[] dirtyCells;
+    private int dirtyCellAmount;
+
+    /**
+     * Creates an occupancy grid.
+     * @param minPosition the board's min position
+     * @param maxPosition the board's max position
+     * @throws IllegalArgumentException if the board is negative in size or has more than MAX_CELL_AMOUNT cells
+     */
+    public OccupancyGrid(Position minPosition, Position maxPosition) {
+        minX = minPosition.x;
+        minY = minPosition.y;
+        width = maxPosition.x - minPosition.x;
+        height = maxPosition.y - minPosition.y;
+
+        // the amount is checked as a long so a huge board can't overflow into an amount that looks allocatable
+        if(width < 0 || height < 0 || (long) width * height > MAX_CELL_AMOUNT) {
+            throw new IllegalArgumentException("Board of " + width + "x" + height + " cells is negative or has more than " + MAX_CELL_AMOUNT + " cells");
+        }
+
+        int cellAmount = width * height;
+        foodCounts = new byte[cellAmount];
+        teleporterCounts = new byte[cellAmount];
+
+        // every cell starts with an empty list of snake entries
+        cellEntries = new int[cellAmount];
+        Arrays.fill(cellEntries, NO_ENTRY);
+
+        entryOwners = new int[INITIAL_ENTRY_CAPACITY];
+        entryCounts = new int[INITIAL_ENTRY_CAPACITY];
+        entryNexts = new int[INITIAL_ENTRY_CAPACITY];
+        freeEntry = NO_ENTRY;
+        entryAmount = 0;
+
+        // every cell starts free, node i of the Fenwick tree counts the free cells of the words up to i
+        int wordAmount = (cellAmount + Long.SIZE - 1) / Long.SIZE;
+        freeCells = new long[wordAmount];
+        freeCellCounts = new int[wordAmount + 1];
+        for(int word = 0; word < wordAmount; word++) {
+            int bits = Math.min(Long.SIZE, cellAmount - word * Long.SIZE);
+            freeCells[word] = bits == Long.SIZE ? -1L : (1L << bits) - 1;
+
+            int node = word + 1;
+            freeCellCounts[node] += bits;
+            int parent = node + (node & -node);
+            if(parent <= wordAmount) {
+                freeCellCounts[parent] += freeCellCounts[node];
+            }
+        }
+
+        freeCellAmount = cellAmount;
+        freeCellStep = Integer.highestOneBit(Math.max(wordAmount, 1));
+
+        dirty = null;
+        dirtyCells = null;
+        dirtyCellAmount = 0;
+    }
+
+    /**
+     * Gets the cell of a position.
+     * @param position the position
+     * @return the cell, or OUT_OF_BOUNDS if the position is not on the board
+     */
+    public int getCell(Position position) {
+        return getCell(position.x, position.y);
+    }
+
+    /**
+     * Gets the cell of an x and y value.
+     * @param x the x value
+     * @param y the y value
+     * @return the cell, or OUT_OF_BOUNDS if the x and y values are not on the board
+     */
+    public int getCell(int x, int y) {
+        int column = x - minX;
+        int row = y - minY;
+
+        if(column < 0 || column >= width || row < 0 || row >= height) {
+            return OUT_OF_BOUNDS;
+        }
+
+        return row * width + column;
+    }
+
+    /**
+     * Gets the x value of a cell.
+     * @param cell the cell
+     * @return the x value
+     */
+    public int getCellX(int cell) {
+        return cell % width + minX;
+    }
+
+    /**
+     * Gets the y value of a cell.
+     * @param cell the cell
+     * @return the y value
+     */
+    public int getCellY(int cell) {
+        return cell / width + minY;
+    }
+
+    /**
+     * Gets the amount of cells on the board.
+     * @return the amount of cells
+     */
+    public int getCellAmount() {
+        return width * height;
+    }
+
+    /**
+     * Gets the width of the board.
+     * @return the width
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the height of the board.
+     * @return the height
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Adds a snake tail to a cell.
+     * @param owner the id of the snake owning the tail
+     * @param cell the cell
+     */
+    public void addSnake(int owner, int cell) {
+        if(cell == OUT_OF_BOUNDS) {
+            return;
+        }
+
+        int entry = findEntry(owner, cell);
+        if(entry == NO_ENTRY) {
+            entry = allocateEntry();
+            entryOwners[entry] = owner;
+            entryCounts[entry] = 0;
+            entryNexts[entry] = cellEntries[cell];
+            cellEntries[cell] = entry;
+
+            updateFreeCell(cell);
+        }
+
+        entryCounts[entry]++;
+        markDirty(cell);
+    }
+
+    /**
+     * Removes a snake tail from a cell.
+     * @param owner the id of the snake owning the tail
+     * @param cell the cell
+     */
+    public void removeSnake(int owner, int cell) {
+        if(cell == OUT_OF_BOUNDS) {
+            return;
+        }
+
+        int previousEntry = NO_ENTRY;
+        int entry = cellEntries[cell];
+        while(entry != NO_ENTRY && entryOwners[entry] != owner) {
+            previousEntry = entry;
+            entry = entryNexts[entry];
+        }
+
+        if(entry == NO_ENTRY) {
+            return;
+        }
+
+        entryCounts[entry]--;
+        markDirty(cell);
+
+        if(entryCounts[entry] == 0) {
+            // unlink the entry from the cell and recycle it
+            if(previousEntry == NO_ENTRY) {
+                cellEntries[cell] = entryNexts[entry];
+            }
+            else {
+                entryNexts[previousEntry] = entryNexts[entry];
+            }
+
+            entryNexts[entry] = freeEntry;
+            freeEntry = entry;
+
+            updateFreeCell(cell);
+        }
+    }
+
+    /**
+     * Gets the amount of tails a snake has in a cell.
+     * @param owner the id of the snake owning the tails
+     * @param cell the cell
+     * @return the amount of tails
+     */
+    public int getSnakeCount(int owner, int cell) {
+        if(cell == OUT_OF_BOUNDS) {
+            return 0;
+        }
+
+        int entry = findEntry(owner, cell);
+
+        return entry == NO_ENTRY ? 0 : entryCounts[entry];
+    }
+
+    /**
+     * Checks if a snake has a tail in a cell.
+     * @param owner the id of the snake owning the tails
+     * @param cell the cell
+     * @return true if the snake has a tail in the cell
+     */
+    public boolean hasSnake(int owner, int cell) {
+        return cell != OUT_OF_BOUNDS && findEntry(owner, cell) != NO_ENTRY;
+    }
+
+    /**
+     * Adds a snake head to a cell.
+     * NOTE: Heads are not tails so they don't count towards hasSnake or getSnakeCount.
+     * @param id the id of the snake owning the head
+     * @param cell the cell
+     */
+    public void addHead(int id, int cell) {
+        addSnake(getHeadOwner(id), cell);
+    }
+
+    /**
+     * Removes a snake head from a cell.
+     * @param id the id of the snake owning the head
+     * @param cell the cell
+     */
+    public void removeHead(int id, int cell) {
+        removeSnake(getHeadOwner(id), cell);
+    }
+
+    /**
+     * Gets the owner a snake's head is stored with.
+     * @param id the id of the snake
+     * @return the owner
+     */
+    public static int getHeadOwner(int id) {
+        return HEAD_OWNER - id;
+    }
+
+    /**
+     * Checks if an owner is a snake's head.
+     * @param owner the owner
+     * @return true if the owner is a head
+     */
+    public static boolean isHeadOwner(int owner) {
+        return owner <= HEAD_OWNER;
+    }
+
+    /**
+     * Gets the id of the snake a head owner belongs to.
+     * @param owner the head owner
+     * @return the id of the snake
+     */
+    public static int getHeadId(int owner) {
+        return HEAD_OWNER - owner;
+    }
+
+    /**
+     * Gets the owners of the snake heads and tails in a cell, in no particular order.
+     * @param cell the cell
+     * @param owners the array to fill, owners that don't fit are counted but not stored
+     * @return the amount of owners in the cell
+     */
+    public int getOwners(int cell, int[] owners) {
+        if(cell == OUT_OF_BOUNDS) {
+            return 0;
+        }
+
+        int amount = 0;
+        for(int entry = cellEntries[cell]; entry != NO_ENTRY; entry = entryNexts[entry]) {
+            if(amount < owners.length) {
+                owners[amount] = entryOwners[entry];
+            }
+
+            amount++;
+        }
+
+        return amount;
+    }
+
+    /**
+     * Adds a food to a cell.
+     * @param cell the cell
+     * @throws IllegalStateException if the cell already has MAX_BLOCKS_PER_CELL foods
+     */
+    public void addFood(int cell) {
+        if(cell != OUT_OF_BOUNDS) {
+            foodCounts[cell] = increment(foodCounts[cell], cell);
+            updateFreeCell(cell);
+            markDirty(cell);
+        }
+    }
+
+    /**
+     * Removes a food from a cell.
+     * @param cell the cell
+     */
+    public void removeFood(int cell) {
+        if(cell != OUT_OF_BOUNDS && foodCounts[cell] != 0) {
+            foodCounts[cell]--;
+            updateFreeCell(cell);
+            markDirty(cell);
+        }
+    }
+
+    /**
+     * Checks if a cell has a food.
+     * @param cell the cell
+     * @return true if the cell has a food
+     */
+    public boolean hasFood(int cell) {
+        return cell != OUT_OF_BOUNDS && foodCounts[cell] != 0;
+    }
+
+    /**
+     * Adds a teleporter block to a cell.
+     * @param cell the cell
+     * @throws IllegalStateException if the cell already has MAX_BLOCKS_PER_CELL teleporter blocks
+     */
+    public void addTeleporter(int cell) {
+        if(cell != OUT_OF_BOUNDS) {
+            teleporterCounts[cell] = increment(teleporterCounts[cell], cell);
+            updateFreeCell(cell);
+            markDirty(cell);
+        }
+    }
+
+    /**
+     * Removes a teleporter block from a cell.
+     * @param cell the cell
+     */
+    public void removeTeleporter(int cell) {
+        if(cell != OUT_OF_BOUNDS && teleporterCounts[cell] != 0) {
+            teleporterCounts[cell]--;
+            updateFreeCell(cell);
+            markDirty(cell);
+        }
+    }
+
+    /**
+     * Checks if a cell has a teleporter block.
+     * @param cell the cell
+     * @return true if the cell has a teleporter block
+     */
+    public boolean hasTeleporter(int cell) {
+        return cell != OUT_OF_BOUNDS && teleporterCounts[cell] != 0;
+    }
+
+    /**
+     * Increments a block count of a cell, the count is an unsigned byte.
+     * @param count the count
+     * @param cell the cell
+     * @return the incremented count
+     * @throws IllegalStateException if the count is already MAX_BLOCKS_PER_CELL
+     */
+    private static byte increment(byte count, int cell) {
+        if((count & 0xFF) == MAX_BLOCKS_PER_CELL) {
+            throw new IllegalStateException("Cell " + cell + " already has " + MAX_BLOCKS_PER_CELL + " blocks of a kind");
+        }
+
+        return (byte) (count + 1);
+    }
+
+    /**
+     * Checks if nothing occupies a cell.
+     * @param cell the cell
+     * @return true if the cell is free
+     */
+    public boolean isFree(int cell) {
+        return cell != OUT_OF_BOUNDS && (freeCells[cell / Long.SIZE] & (1L << cell)) != 0;
+    }
+
+    /**
+     * Gets the amount of cells nothing occupies.
+     * @return the amount of free cells
+     */
+    public int getFreeCellAmount() {
+        return freeCellAmount;
+    }
+
+    /**
+     * Gets a uniformly random cell nothing occupies.
+     * @param random the random to pick with
+     * @return the cell, or OUT_OF_BOUNDS if every cell is occupied
+     */
+    public int getRandomFreeCell(SnakeRandom random) {
+        if(freeCellAmount == 0) {
+            return OUT_OF_BOUNDS;
+        }
+
+        int rank = random.nextInt(freeCellAmount);
+
+        // descend the Fenwick tree to the word holding the free cell of that rank
+        int word = 0;
+        for(int step = freeCellStep; step > 0; step >>= 1) {
+            int node = word + step;
+            if(node < freeCellCounts.length && freeCellCounts[node] <= rank) {
+                word = node;
+                rank -= freeCellCounts[node];
+            }
+        }
+
+        // drop the word's lower free cells
+        long bits = freeCells[word];
+        for(int i = 0; i < rank; i++) {
+            bits &= bits - 1;
+        }
+
+        return word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * Sets whether or not the cells whose occupants change are tracked.
+     * NOTE: Tracking starts with every cell dirty so the first redraw covers the whole board.
+     * @param trackDirtyCells true to track the changed cells
+     */
+    public void setTrackDirtyCells(boolean trackDirtyCells) {
+        if(!trackDirtyCells) {
+            dirty = null;
+            dirtyCells = null;
+            dirtyCellAmount = 0;
+        }
+        else if(dirty == null) {
+            dirty = new boolean[getCellAmount()];
+            dirtyCells = new int[getCellAmount()];
+            markAllDirty();
+        }
+    }
+
+    /**
+     * Marks every cell as changed.
+     */
+    public void markAllDirty() {
+        if(dirty == null) {
+            return;
+        }
+
+        for(int cell = 0; cell < dirty.length; cell++) {
+            markDirty(cell);
+        }
+    }
+
+    /**
+     * Marks a cell as changed, every cell is only recorded once until the dirty cells are cleared.
+     * @param cell the cell
+     */
+    public void markDirty(int cell) {
+        if(dirty != null && cell != OUT_OF_BOUNDS && !dirty[cell]) {
+            dirty[cell] = true;
+            dirtyCells[dirtyCellAmount++] = cell;
+        }
+    }
+
+    /**
+     * Gets the amount of cells whose occupants changed since the dirty cells were last cleared.
+     * @return the amount of dirty cells
+     */
+    public int getDirtyCellAmount() {
+        return dirtyCellAmount;
+    }
+
+    /**
+     * Gets a dirty cell.
+     * @param index the dirty cell's index, less than getDirtyCellAmount
+     * @return the cell
+     */
+    public int getDirtyCell(int index) {
+        return dirtyCells[index];
+    }
+
+    /**
+     * Clears the dirty cells after they were redrawn.
+     */
+    public void clearDirtyCells() {
+        for(int i = 0; i < dirtyCellAmount; i++) {
+            dirty[dirtyCells[i]] = false;
+        }
+
+        dirtyCellAmount = 0;
+    }
+
+    /**
+     * Adds a cell to or removes a cell from the free cells after what occupies it changed.
+     * @param cell the cell
+     */
+    private void updateFreeCell(int cell) {
+        boolean free = cellEntries[cell] == NO_ENTRY && foodCounts[cell] == 0 && teleporterCounts[cell] == 0;
+        if(free == isFree(cell)) {
+            return;
+        }
+
+        int word = cell / Long.SIZE;
+        int change = free ? 1 : -1;
+        freeCells[word] ^= 1L << cell;
+        freeCellAmount += change;
+
+        for(int node = word + 1; node < freeCellCounts.length; node += node & -node) {
+            freeCellCounts[node] += change;
+        }
+    }
+
+    /**
+     * Finds the entry of a snake in a cell.
+     * @param owner the id of the snake
+     * @param cell the cell
+     * @return the entry, or NO_ENTRY if the snake has no tails in the cell
+     */
+    private int findEntry(int owner, int cell) {
+        int entry = cellEntries[cell];
+        while(entry != NO_ENTRY && entryOwners[entry] != owner) {
+            entry = entryNexts[entry];
+        }
+
+        return entry;
+    }
+
+    /**
+     * Allocates an entry, reusing a recycled one if possible.
+     * @return the entry
+     */
+    private int allocateEntry() {
+        if(freeEntry != NO_ENTRY) {
+            int entry = freeEntry;
+            freeEntry = entryNexts[entry];
+
+            return entry;
+        }
+
+        if(entryAmount == entryOwners.length) {
+            int capacity = entryOwners.length * 2;
+            entryOwners = Arrays.copyOf(entryOwners, capacity);
+            entryCounts = Arrays.copyOf(entryCounts, capacity);
+            entryNexts = Arrays.copyOf(entryNexts, capacity);
+        }
+
+        return entryAmount++;
+    }
+}
@@ -0,0 +1,33 @@
+package snake;
+
+/**
+ * An AI strategy that follows the shortest path to the closest food.
+ */
+public class PathfindingSnakeAI implements SnakeAIStrategy {
+    private static final ThreadLocal<SnakePathfinder> PATHFINDERS = new ThreadLocal<SnakePathfinder>() {
+        @Override
+        protected SnakePathfinder initialValue() {
+            return new SnakePathfinder();
+        }
+    };
+    private Snake snake;
+
+    /**
+     * Creates a PathfindingSnakeAI.
+     * @param snake the snake that will use this AI
+     */
+    public PathfindingSnakeAI(Snake snake) {
+        this.snake = snake;
+    }
+
+    /**
+     * Gets the first direction of the shortest path to the closest food.
+     * NOTE: The search buffers are the size of the board so they are shared by every snake deciding on the same thread.
+     * @param deadline the System.nanoTime() value the search should finish by
+     * @return the direction, or NO_DIRECTION if no food can be reached in time
+     */
+    @Override
+    public int getAIDirection(long deadline) {
+        return PATHFINDERS.get().getDirection(snake, deadline);
+    }
+}
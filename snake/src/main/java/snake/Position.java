@@ -0,0 +1,179 @@
+package snake;
+
+/**
+ * A position.
+ */
+public class Position {
+    private static final int DEFAULT_X = 0, DEFAULT_Y = 0;
+    protected int x, y;
+
+    /**
+     * Creates a position at DEFAULT_X, DEFAULT_Y.
+     */
+    public Position() {
+        this(DEFAULT_X, DEFAULT_Y);
+    }
+
+    /**
+     * Creates a deep clone of the given position.
+     * @param position the position
+     */
+    public Position(Position position) {
+        this(position.x, position.y);
+    }
+
+    /**
+     * Creates a position.
+     * @param x the x value
+     * @param y the y value
+     */
+    public Position(int x, int y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Gets the distance between this position and another position.
+     * @param position the other position
+     * @return the distance between this position and the other position
+     */
+    public int getDistance(Position position) {
+            int distanceX = x - position.x;
+            int distanceY = y - position.y;
+
+            return (int) Math.sqrt((distanceX * distanceX) + (distanceY * distanceY));
+    }
+
+    /**
+     * Gets the squared distance between this position and an x and y value.
+     * NOTE: Squared distances order positions like distances without a square root and fit in an int on any board.
+     * @param x the x value
+     * @param y the y value
+     * @return the squared distance
+     */
+    public int getSquaredDistance(int x, int y) {
+        int distanceX = this.x - x;
+        int distanceY = this.y - y;
+
+        return distanceX * distanceX + distanceY * distanceY;
+    }
+
+    /**
+     * Packs an x and y value into an int key.
+     * NOTE: The key is unique for x and y values between Short.MIN_VALUE and Short.MAX_VALUE.
+     * @param x the x value
+     * @param y the y value
+     * @return the int key
+     */
+    public static int pack(int x, int y) {
+        return (x << 16) | (y & 0xFFFF);
+    }
+
+    /**
+     * Unpacks the x value of an int key.
+     * @param key the int key
+     * @return the x value
+     */
+    public static int unpackX(int key) {
+        return key >> 16;
+    }
+
+    /**
+     * Unpacks the y value of an int key.
+     * @param key the int key
+     * @return the y value
+     */
+    public static int unpackY(int key) {
+        return (short) key;
+    }
+
+    /**
+     * Packs an x and y value into a long key.
+     * @param x the x value
+     * @param y the y value
+     * @return the long key
+     */
+    public static long packLong(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Unpacks the x value of a long key.
+     * @param key the long key
+     * @return the x value
+     */
+    public static int unpackLongX(long key) {
+        return (int) (key >> 32);
+    }
+
+    /**
+     * Unpacks the y value of a long key.
+     * @param key the long key
+     * @return the y value
+     */
+    public static int unpackLongY(long key) {
+        return (int) key;
+    }
+
+    /**
+     * Gets this position's int key.
+     * @return the int key
+     */
+    public int toKey() {
+        return pack(x, y);
+    }
+
+    /**
+     * Gets this position's long key.
+     * @return the long key
+     */
+    public long toLongKey() {
+        return packLong(x, y);
+    }
+
+    /**
+     * Gets the hash code.
+     * NOTE: The hash code is unique for x and y values between Short.MIN_VALUE and Short.MAX_VALUE.
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        return toKey();
+    }
+
+    /**
+     * Checks if this object is equal to another object.
+     * @param object the other object
+     * @return true if they are equal
+     */
+    @Override
+    public boolean equals(Object object) {
+        // reflexive test
+        if(this == object) {
+            return true;
+        }
+
+        // null test
+        if(object == null) {
+            return false;
+        }
+
+        // symmetry test
+        if(getClass() != object.getClass()) {
+            return false;
+        }
+
+        Position position = (Position) object;
+
+        return position.x == x && position.y == y;
+    }
+
+    /**
+     * Gets a string representation of this object.
+     * @return the string representation of this object
+     */
+    @Override
+    public String toString() {
+        return "Position [x=" + x + ", y=" + y + "]";
+    }
+}
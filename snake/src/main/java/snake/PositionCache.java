@@ -0,0 +1,62 @@
+package snake;
+
+/**
+ * A flyweight cache holding one shared position for every cell of a board.
+ * NOTE: Cached positions are shared and must never be mutated, rows are created the first time they are used.
+ */
+public class PositionCache {
+    private final int minX, minY, width, height;
+    private final Position[][] rows;
+
+    /**
+     * Creates a position cache.
+     * @param minPosition the board's min position
+     * @param maxPosition the board's max position
+     */
+    public PositionCache(Position minPosition, Position maxPosition) {
+        minX = minPosition.x;
+        minY = minPosition.y;
+        width = maxPosition.x - minPosition.x;
+        height = maxPosition.y - minPosition.y;
+
+        rows = new Position[Math.max(height, 0)][];
+    }
+
+    /**
+     * Gets the cached position of an x and y value.
+     * @param x the x value
+     * @param y the y value
+     * @return the cached position, or a new position if the x and y values are not on the board
+     */
+    public Position get(int x, int y) {
+        int column = x - minX;
+        int row = y - minY;
+
+        if(column < 0 || column >= width || row < 0 || row >= height) {
+            return new Position(x, y);
+        }
+
+        Position[] positions = rows[row];
+        if(positions == null) {
+            positions = new Position[width];
+            rows[row] = positions;
+        }
+
+        Position position = positions[column];
+        if(position == null) {
+            position = new Position(x, y);
+            positions[column] = position;
+        }
+
+        return position;
+    }
+
+    /**
+     * Gets the cached position of an int key.
+     * @param key the int key
+     * @return the cached position, or a new position if the key is not on the board
+     */
+    public Position get(int key) {
+        return get(Position.unpackX(key), Position.unpackY(key));
+    }
+}
@@ -0,0 +1,458 @@
+package snake;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * A replay player that recreates a recorded world from its seed and re-simulates it by feeding it the recorded inputs.
+ * The world can be stepped headless at full speed with playToEnd, or observed by a SnakePanel that calls step.
+ * Seeking restores the last keyframe before the tick, found through the memory-mapped index file, and steps from there.
+ * NOTE: The world's snakes have their AI turned off, the recorded directions are replayed instead.
+ */
+public class ReplayPlayer {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private FileChannel channel;
+    private ByteBuffer buffer;
+    private MappedByteBuffer index;
+    private StateBuffer state;
+    private SnakeWorld world;
+    private long nextEventTick, firstKeyframeOffset;
+    private int nextEventType, keyframeAmount;
+    private boolean ended, restoreKeyframe;
+
+    /**
+     * Creates a replay player and the world it plays.
+     * @param path the replay file
+     * @throws IOException if the file can't be read or is not a replay
+     */
+    public ReplayPlayer(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        buffer.flip();
+        state = new StateBuffer();
+        restoreKeyframe = false;
+
+        try {
+            // read the header
+            if(readInt() != ReplayRecorder.MAGIC || readByte() != ReplayRecorder.VERSION) {
+                throw new IOException(path + " is not a replay");
+            }
+
+            Position minPosition = new Position((int) readSignedVarint(), (int) readSignedVarint());
+            Position maxPosition = new Position((int) readSignedVarint(), (int) readSignedVarint());
+            int snakeAmount = (int) readVarint();
+            int foodAmount = (int) readVarint();
+            int teleporterAmount = (int) readVarint();
+            long seed = readLong();
+            int flags = readByte();
+
+            world = new SnakeWorld(minPosition, maxPosition, snakeAmount, foodAmount, teleporterAmount, seed);
+            if((flags & ReplayRecorder.RESPAWN_ON_DEATH_FLAG) != 0) {
+                world.toggleRespawnOnDeath();
+            }
+
+            for(Snake snake : world.getSnakeList()) {
+                if(snake.isAI()) {
+                    snake.toggleAIStatus();
+                }
+            }
+
+            ended = false;
+            readNextEvent();
+
+            // the replay starts with a keyframe, remember it for replays without an index
+            firstKeyframeOffset = getOffset();
+
+            index = null;
+            keyframeAmount = 0;
+            Path indexPath = ReplayRecorder.getIndexPath(path);
+            if(Files.exists(indexPath)) {
+                try(FileChannel indexChannel = FileChannel.open(indexPath, StandardOpenOption.READ)) {
+                    keyframeAmount = (int) (indexChannel.size() / ReplayRecorder.INDEX_ENTRY_SIZE);
+                    index = indexChannel.map(FileChannel.MapMode.READ_ONLY, 0, (long) keyframeAmount * ReplayRecorder.INDEX_ENTRY_SIZE);
+                }
+
+                // a replay that was cut off can have index entries for keyframes that never made it into the file whole
+                while(keyframeAmount > 0 && !isKeyframeComplete(index.getLong((keyframeAmount - 1) * ReplayRecorder.INDEX_ENTRY_SIZE + Long.BYTES))) {
+                    keyframeAmount--;
+                }
+            }
+        }
+        catch(IOException | RuntimeException e) {
+            channel.close();
+
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the world being played.
+     * @return the world
+     */
+    public SnakeWorld getWorld() {
+        return world;
+    }
+
+    /**
+     * Applies the inputs recorded before the next tick and steps the world.
+     * @return true if the world stepped, false if the replay ended
+     */
+    public boolean step() {
+        long tick = world.getTick();
+
+        while(!ended && nextEventTick == tick) {
+            applyEvent();
+            readNextEvent();
+        }
+
+        if(ended && nextEventTick <= tick) {
+            return false;
+        }
+
+        world.step();
+
+        return true;
+    }
+
+    /**
+     * Steps the world until the replay ends.
+     * @return the amount of ticks stepped
+     */
+    public long playToEnd() {
+        long ticks = 0;
+        while(step()) {
+            ticks++;
+        }
+
+        return ticks;
+    }
+
+    /**
+     * Seeks to a tick by restoring the last keyframe before it, unless stepping from the current tick is shorter,
+     * and stepping the rest of the way.
+     * NOTE: Without an index file seeking backwards restores the first keyframe.
+     * @param tick the tick
+     * @return true if the world reached the tick, false if the replay ended before it
+     */
+    public boolean seek(long tick) {
+        tick = Math.max(tick, 0);
+
+        // find the last keyframe at or before the tick
+        long keyframeTick = 0;
+        long keyframeOffset = firstKeyframeOffset;
+        int low = 0;
+        int high = keyframeAmount - 1;
+        while(low <= high) {
+            int middle = (low + high) >>> 1;
+            long middleTick = index.getLong(middle * ReplayRecorder.INDEX_ENTRY_SIZE);
+
+            if(middleTick <= tick) {
+                keyframeTick = middleTick;
+                keyframeOffset = index.getLong(middle * ReplayRecorder.INDEX_ENTRY_SIZE + Long.BYTES);
+                low = middle + 1;
+            }
+            else {
+                high = middle - 1;
+            }
+        }
+
+        if(tick < world.getTick() || keyframeTick > world.getTick()) {
+            restoreKeyframe(keyframeTick, keyframeOffset);
+        }
+
+        while(world.getTick() < tick) {
+            if(!step()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Restores the world to a keyframe.
+     * @param tick the keyframe's tick
+     * @param offset the file offset of the keyframe's size
+     */
+    private void restoreKeyframe(long tick, long offset) {
+        try {
+            channel.position(offset);
+        }
+        catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        buffer.clear();
+        buffer.flip();
+
+        nextEventTick = tick;
+        nextEventType = ReplayRecorder.KEYFRAME;
+        ended = false;
+
+        restoreKeyframe = true;
+        applyEvent();
+        restoreKeyframe = false;
+
+        readNextEvent();
+    }
+
+    /**
+     * Checks if the replay ended.
+     * @return true if every recorded tick was played
+     */
+    public boolean isEnded() {
+        return ended && nextEventTick <= world.getTick();
+    }
+
+    /**
+     * Closes the replay file.
+     * @throws IOException if the file can't be closed
+     */
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Applies the next event to the world.
+     */
+    private void applyEvent() {
+        List<Snake> snakeList = world.getSnakeList();
+
+        try {
+            switch(nextEventType) {
+                case ReplayRecorder.DIRECTION:
+                    int value = (int) readVarint();
+                    snakeList.get(value >>> 2).forceDirection(value & 3);
+                    break;
+                case ReplayRecorder.RESPAWN:
+                    world.respawnSnake((int) readVarint());
+                    break;
+                case ReplayRecorder.REWIND_ON:
+                    world.setRewind((int) readVarint(), true);
+                    break;
+                case ReplayRecorder.REWIND_OFF:
+                    world.setRewind((int) readVarint(), false);
+                    break;
+                case ReplayRecorder.ADD_FOOD:
+                    world.addFood();
+                    break;
+                case ReplayRecorder.REMOVE_FOOD:
+                    world.removeFood();
+                    break;
+                case ReplayRecorder.TOGGLE_RESPAWN_ON_DEATH:
+                    world.toggleRespawnOnDeath();
+                    break;
+                case ReplayRecorder.RESTART:
+                    world.restart();
+                    break;
+                case ReplayRecorder.KEYFRAME:
+                    int size = (int) readVarint();
+
+                    // while playing the world is already in the keyframe's state
+                    if(restoreKeyframe) {
+                        state.reset(size);
+                        readBytes(state.getBytes(), size);
+                        world.readState(state);
+                    }
+                    else {
+                        skipBytes(size);
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown replay event " + nextEventType);
+            }
+        }
+        catch(EOFException e) {
+            ended = true;
+        }
+        catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads the tick and type of the next event.
+     * NOTE: A replay that was cut off ends at its last complete event.
+     */
+    private void readNextEvent() {
+        try {
+            long value = readVarint();
+
+            nextEventTick += value >>> ReplayRecorder.TYPE_BITS;
+            nextEventType = (int) (value & ReplayRecorder.TYPE_MASK);
+            ended = nextEventType == ReplayRecorder.END;
+        }
+        catch(EOFException e) {
+            ended = true;
+        }
+        catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Checks if a keyframe is in the file whole, without moving the file's position.
+     * @param offset the file offset of the keyframe's size
+     * @return true if the keyframe's size and every byte of its state are in the file
+     * @throws IOException if the file can't be read
+     */
+    private boolean isKeyframeComplete(long offset) throws IOException {
+        long end = channel.size();
+        if(offset >= end) {
+            return false;
+        }
+
+        ByteBuffer sizeBuffer = ByteBuffer.allocate(Integer.BYTES + 1);
+        channel.read(sizeBuffer, offset);
+        sizeBuffer.flip();
+
+        long size = 0;
+        int shift = 0;
+        while(sizeBuffer.hasRemaining()) {
+            int b = sizeBuffer.get();
+            size |= (long) (b & 0x7F) << shift;
+            shift += 7;
+
+            if((b & 0x80) == 0) {
+                return offset + sizeBuffer.position() + size <= end;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Reads an unsigned varint.
+     * @return the value
+     * @throws IOException if the file can't be read
+     */
+    private long readVarint() throws IOException {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while((b & 0x80) != 0);
+
+        return value;
+    }
+
+    /**
+     * Reads a zigzag encoded signed varint.
+     * @return the value
+     * @throws IOException if the file can't be read
+     */
+    private long readSignedVarint() throws IOException {
+        long value = readVarint();
+
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Reads a big endian int.
+     * @return the int
+     * @throws IOException if the file can't be read
+     */
+    private int readInt() throws IOException {
+        int value = 0;
+        for(int i = 0; i < Integer.BYTES; i++) {
+            value = (value << 8) | readByte();
+        }
+
+        return value;
+    }
+
+    /**
+     * Reads a big endian long.
+     * @return the long
+     * @throws IOException if the file can't be read
+     */
+    private long readLong() throws IOException {
+        return ((long) readInt() << 32) | (readInt() & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Reads bytes, refilling the buffer from the file when it runs out.
+     * @param bytes the array to read into
+     * @param length the amount of bytes to read
+     * @throws IOException if the file can't be read
+     * @throws EOFException if the file ended
+     */
+    private void readBytes(byte[] bytes, int length) throws IOException {
+        int read = 0;
+        while(read < length) {
+            if(!buffer.hasRemaining()) {
+                refill();
+            }
+
+            int amount = Math.min(buffer.remaining(), length - read);
+            buffer.get(bytes, read, amount);
+            read += amount;
+        }
+    }
+
+    /**
+     * Skips bytes, moving the file's position instead of reading what doesn't fit in the buffer.
+     * @param length the amount of bytes to skip
+     * @throws IOException if the file can't be read
+     */
+    private void skipBytes(int length) throws IOException {
+        if(length <= buffer.remaining()) {
+            buffer.position(buffer.position() + length);
+
+            return;
+        }
+
+        long skipped = length - buffer.remaining();
+        buffer.position(buffer.limit());
+        channel.position(channel.position() + skipped);
+    }
+
+    /**
+     * Gets the file offset of the next unread byte.
+     * @return the offset
+     * @throws IOException if the file's position can't be read
+     */
+    private long getOffset() throws IOException {
+        return channel.position() - buffer.remaining();
+    }
+
+    /**
+     * Refills the buffer from the file.
+     * @throws IOException if the file can't be read
+     * @throws EOFException if the file ended
+     */
+    private void refill() throws IOException {
+        buffer.clear();
+        int read = channel.read(buffer);
+        buffer.flip();
+
+        if(read <= 0) {
+            throw new EOFException();
+        }
+    }
+
+    /**
+     * Reads a byte, refilling the buffer from the file when it runs out.
+     * @return the byte as an unsigned value
+     * @throws IOException if the file can't be read
+     * @throws EOFException if the file ended
+     */
+    private int readByte() throws IOException {
+        if(!buffer.hasRemaining()) {
+            refill();
+        }
+
+        return buffer.get() & 0xFF;
+    }
+}
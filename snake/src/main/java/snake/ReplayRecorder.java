@@ -0,0 +1,321 @@
+package snake;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * A replay recorder that writes a world's seed and every input that changed it to a compact binary file.
+ * The file starts with a header holding the world's setup and seed, followed by events that each start with a varint
+ * of (ticks since the last event << TYPE_BITS) | type. Direction events hold (snake << 2) | direction, snake events
+ * hold the snake's index and world events hold nothing.
+ * Every keyframe interval a keyframe event holds the varint size of the world's state followed by the state, and the
+ * tick and file offset of its size are appended to an index file next to the replay, see getIndexPath.
+ * NOTE: The AI's decisions are recorded as direction changes so a replay doesn't depend on AI time budgets.
+ */
+public class ReplayRecorder {
+    public static final int MAGIC = 0x534E4B52, VERSION = 4, TYPE_BITS = 4, TYPE_MASK = (1 << TYPE_BITS) - 1;
+    public static final int DIRECTION = 0, RESPAWN = 1, REWIND_ON = 2, REWIND_OFF = 3, ADD_FOOD = 4, REMOVE_FOOD = 5,
+            TOGGLE_RESPAWN_ON_DEATH = 6, RESTART = 7, END = 8, KEYFRAME = 9;
+    public static final int RESPAWN_ON_DEATH_FLAG = 1, DEFAULT_KEYFRAME_INTERVAL = 4096, INDEX_ENTRY_SIZE = 2 * Long.BYTES;
+    public static final String INDEX_SUFFIX = ".idx";
+    private static final int BUFFER_SIZE = 1 << 16, MAX_EVENT_SIZE = 20;
+    private SnakeWorld world;
+    private FileChannel channel, indexChannel;
+    private ByteBuffer buffer, indexBuffer;
+    private StateBuffer state;
+    private int keyframeInterval;
+    private int[] recordedDirections;
+    private long lastEventTick;
+    private boolean closed;
+
+    /**
+     * Creates a replay recorder that records a world from its first tick with a keyframe every DEFAULT_KEYFRAME_INTERVAL ticks.
+     * @param world the world, it must not have stepped or received any command yet
+     * @param path the file to write to, it is replaced if it exists
+     * @throws IOException if the file can't be written
+     * @throws IllegalStateException if the world already stepped
+     */
+    public ReplayRecorder(SnakeWorld world, Path path) throws IOException {
+        this(world, path, DEFAULT_KEYFRAME_INTERVAL);
+    }
+
+    /**
+     * Creates a replay recorder that records a world from its first tick.
+     * NOTE: Seeking re-simulates up to a keyframe interval of ticks, shorter intervals seek faster but take more space.
+     * @param world the world, it must not have stepped or received any command yet
+     * @param path the file to write to, it is replaced if it exists
+     * @param keyframeInterval the amount of ticks between keyframes
+     * @throws IOException if the file can't be written
+     * @throws IllegalStateException if the world already stepped
+     */
+    public ReplayRecorder(SnakeWorld world, Path path, int keyframeInterval) throws IOException {
+        if(world.getTick() != 0) {
+            throw new IllegalStateException("A replay has to be recorded from the world's first tick");
+        }
+
+        this.world = world;
+        this.keyframeInterval = Math.max(keyframeInterval, 1);
+
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            indexChannel = FileChannel.open(getIndexPath(path), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+        catch(IOException e) {
+            channel.close();
+
+            throw e;
+        }
+
+        buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        indexBuffer = ByteBuffer.allocate(INDEX_ENTRY_SIZE);
+        state = new StateBuffer();
+        recordedDirections = new int[world.getSnakeList().size()];
+        updateRecordedDirections();
+        lastEventTick = 0;
+        closed = false;
+
+        // write the header
+        buffer.putInt(MAGIC);
+        buffer.put((byte) VERSION);
+        writeSignedVarint(world.getMinPosition().x);
+        writeSignedVarint(world.getMinPosition().y);
+        writeSignedVarint(world.getMaxPosition().x);
+        writeSignedVarint(world.getMaxPosition().y);
+        writeVarint(world.getSnakeList().size());
+        writeVarint(world.getFoodList().size());
+        writeVarint(world.getTeleporterList().size());
+        buffer.putLong(world.getSeed());
+        buffer.put((byte) (world.isRespawnOnDeath() ? RESPAWN_ON_DEATH_FLAG : 0));
+
+        // the first keyframe lets a replay seek back to the start without recreating the world
+        writeKeyframe();
+
+        world.attachReplayRecorder(this);
+    }
+
+    /**
+     * Gets the path of the index file that holds the keyframe offsets of a replay.
+     * @param path the replay file
+     * @return the index file
+     */
+    public static Path getIndexPath(Path path) {
+        return path.resolveSibling(path.getFileName() + INDEX_SUFFIX);
+    }
+
+    /**
+     * Records the direction every snake moved in the tick that just ended if it differs from the direction a replay
+     * would have, and writes a keyframe if the next tick starts a keyframe interval.
+     * NOTE: Directions set between ticks, by a player or an AI, are only recorded once a snake moves in them.
+     */
+    public void endTick() {
+        long movedTick = world.getTick() - 1;
+
+        List<Snake> snakeList = world.getSnakeList();
+        for(int i = 0; i < snakeList.size(); i++) {
+            Snake snake = snakeList.get(i);
+            int movedDirection = snake.getMovedDirection();
+
+            if(movedDirection != SnakeAIStrategy.NO_DIRECTION && movedDirection != recordedDirections[i]) {
+                writeEvent(DIRECTION, movedTick);
+                writeVarint((i << 2) | movedDirection);
+            }
+
+            // dying, respawning and rewinding change the direction the same way in a replay
+            recordedDirections[i] = snake.direction;
+        }
+
+        if(world.getTick() % keyframeInterval == 0) {
+            writeKeyframe();
+        }
+    }
+
+    /**
+     * Records a command that was given to a snake before the next tick.
+     * @param type RESPAWN, REWIND_ON or REWIND_OFF
+     * @param snake the snake's index
+     */
+    public void recordSnakeCommand(int type, int snake) {
+        writeEvent(type);
+        writeVarint(snake);
+
+        // a replay gets the direction the command left the snake in for free
+        recordedDirections[snake] = world.getSnakeList().get(snake).direction;
+    }
+
+    /**
+     * Records a command that was given to the world before the next tick.
+     * @param type ADD_FOOD, REMOVE_FOOD, TOGGLE_RESPAWN_ON_DEATH or RESTART
+     */
+    public void recordWorldCommand(int type) {
+        writeEvent(type);
+
+        updateRecordedDirections();
+    }
+
+    /**
+     * Writes the end of the replay and closes the file.
+     * @throws IOException if the file can't be written
+     */
+    public void close() throws IOException {
+        if(closed) {
+            return;
+        }
+
+        closed = true;
+        world.attachReplayRecorder(null);
+
+        try {
+            writeEvent(END);
+            flush();
+        }
+        finally {
+            channel.close();
+            indexChannel.close();
+        }
+    }
+
+    /**
+     * Gets the amount of bytes recorded so far.
+     * @return the amount of bytes
+     */
+    public long size() {
+        try {
+            return channel.position() + buffer.position();
+        }
+        catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Remembers every snake's current direction as the direction a replay has.
+     */
+    private void updateRecordedDirections() {
+        List<Snake> snakeList = world.getSnakeList();
+        for(int i = 0; i < snakeList.size(); i++) {
+            recordedDirections[i] = snakeList.get(i).direction;
+        }
+    }
+
+    /**
+     * Writes a keyframe of the world's state before its next tick and appends its tick and offset to the index.
+     * NOTE: The keyframe is flushed before its index entry is written so the index never points past the replay's end.
+     */
+    private void writeKeyframe() {
+        state.clear();
+        world.writeState(state);
+
+        writeEvent(KEYFRAME);
+        long offset = size();
+        writeVarint(state.size());
+        writeBytes(state.getBytes(), state.size());
+        flush();
+
+        indexBuffer.clear();
+        indexBuffer.putLong(world.getTick());
+        indexBuffer.putLong(offset);
+        indexBuffer.flip();
+
+        try {
+            while(indexBuffer.hasRemaining()) {
+                indexChannel.write(indexBuffer);
+            }
+        }
+        catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the start of an event given before the world's next tick.
+     * @param type the type
+     */
+    private void writeEvent(int type) {
+        writeEvent(type, world.getTick());
+    }
+
+    /**
+     * Writes the start of an event, the ticks since the last event and the event's type.
+     * @param type the type
+     * @param tick the tick the event is applied before
+     */
+    private void writeEvent(int type, long tick) {
+        if(buffer.remaining() < MAX_EVENT_SIZE) {
+            flush();
+        }
+
+        writeVarint(((tick - lastEventTick) << TYPE_BITS) | type);
+        lastEventTick = tick;
+    }
+
+    /**
+     * Writes bytes, bypassing the buffer if they don't fit in it.
+     * @param bytes the bytes
+     * @param length the amount of bytes to write
+     */
+    private void writeBytes(byte[] bytes, int length) {
+        if(length > buffer.remaining()) {
+            flush();
+        }
+
+        if(length <= buffer.remaining()) {
+            buffer.put(bytes, 0, length);
+
+            return;
+        }
+
+        ByteBuffer wrapped = ByteBuffer.wrap(bytes, 0, length);
+        try {
+            while(wrapped.hasRemaining()) {
+                channel.write(wrapped);
+            }
+        }
+        catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes an unsigned varint, 7 bits per byte with the high bit set on every byte but the last.
+     * @param value the value
+     */
+    private void writeVarint(long value) {
+        while((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Writes a signed varint, zigzag encoded so small negative values stay small.
+     * @param value the value
+     */
+    private void writeSignedVarint(long value) {
+        writeVarint((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Writes the buffered bytes to the file.
+     */
+    private void flush() {
+        buffer.flip();
+
+        try {
+            while(buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        buffer.clear();
+    }
+}
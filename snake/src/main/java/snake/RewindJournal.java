@@ -0,0 +1,325 @@
+package snake;
+
+/**
+ * A rewind journal that keeps the last moves of a block in a bounded ring buffer.
+ * Each move only stores its delta: the direction moved in, the tail it popped, the growth it added and the
+ * position it teleported from, so the block and its tails can be reconstructed when rewinding.
+ */
+public class RewindJournal {
+    public static final int DEFAULT_DEPTH = 1 << 14, NO_CELL = SnakeBody.NO_CELL;
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int TAIL_SHIFT = 2, NO_TAIL = SnakeBody.ABSOLUTE_CELL + 1, EMPTY_TAIL = SnakeBody.ABSOLUTE_CELL + 2;
+    private static final int GROWTH_FLAG = 1 << 5, JUMP_FLAG = 1 << 6;
+    private int depth, newest, size;
+    private byte[] directions;
+    private int[] tails, growths, jumps;
+
+    /**
+     * Creates a rewind journal with a depth of DEFAULT_DEPTH.
+     */
+    public RewindJournal() {
+        this(DEFAULT_DEPTH);
+    }
+
+    /**
+     * Creates a rewind journal.
+     * @param depth the max amount of moves that can be rewound
+     */
+    public RewindJournal(int depth) {
+        this.depth = Math.max(depth, 1);
+
+        int capacity = Math.min(INITIAL_CAPACITY, this.depth);
+        directions = new byte[capacity];
+        tails = new int[capacity];
+        growths = new int[capacity];
+        jumps = new int[capacity];
+
+        newest = -1;
+        size = 0;
+    }
+
+    /**
+     * Records a move, dropping the oldest move if the journal is full.
+     * @param direction the direction moved in
+     * @param tail the packed position of the popped tail, or a SnakeBody marker if no tail was popped
+     */
+    public void record(int direction, int tail) {
+        if(size == directions.length && size < depth) {
+            grow();
+        }
+
+        newest = (newest + 1) % directions.length;
+        directions[newest] = (byte) direction;
+        tails[newest] = tail;
+        growths[newest] = 0;
+        jumps[newest] = NO_CELL;
+
+        if(size < directions.length) {
+            size++;
+        }
+    }
+
+    /**
+     * Adds growth to the newest move.
+     * @param amount the amount of tails added
+     */
+    public void addGrowth(int amount) {
+        if(size > 0) {
+            growths[newest] += amount;
+        }
+    }
+
+    /**
+     * Sets the position the newest move teleported from.
+     * @param cell the packed position before teleporting
+     */
+    public void setJump(int cell) {
+        if(size > 0) {
+            jumps[newest] = cell;
+        }
+    }
+
+    /**
+     * Removes the newest move.
+     */
+    public void pop() {
+        if(size > 0) {
+            newest = (newest - 1 + directions.length) % directions.length;
+            size--;
+        }
+    }
+
+    /**
+     * Removes every move.
+     */
+    public void clear() {
+        newest = -1;
+        size = 0;
+    }
+
+    /**
+     * Checks if the journal has no moves.
+     * @return true if the journal has no moves
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the amount of moves.
+     * @return the amount of moves
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the max amount of moves that can be rewound.
+     * @return the depth
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Sets the max amount of moves that can be rewound, dropping the oldest moves if needed.
+     * @param depth the depth
+     */
+    public void setDepth(int depth) {
+        depth = Math.max(depth, 1);
+
+        // unroll the newest moves into buffers no larger than the new depth
+        int keep = Math.min(size, depth);
+        int capacity = Math.min(Math.max(keep, INITIAL_CAPACITY), depth);
+        resize(capacity, keep);
+
+        this.depth = depth;
+    }
+
+    /**
+     * Gets the direction of the newest move.
+     * @return the direction
+     */
+    public int getDirection() {
+        return directions[newest];
+    }
+
+    /**
+     * Gets the tail popped by the newest move.
+     * @return the packed position of the tail, or a SnakeBody marker if no tail was popped
+     */
+    public int getTail() {
+        return tails[newest];
+    }
+
+    /**
+     * Gets the growth added during the newest move.
+     * @return the amount of tails added
+     */
+    public int getGrowth() {
+        return growths[newest];
+    }
+
+    /**
+     * Gets the position the newest move teleported from.
+     * @return the packed position, or NO_CELL if the move did not teleport
+     */
+    public int getJump() {
+        return jumps[newest];
+    }
+
+    /**
+     * Writes the depth and every move from the newest to the oldest.
+     * A move is written as a byte of its direction, how its tail follows the tail popped after it and whether it grew
+     * or teleported, so most moves take a single byte. The moves are preceded by their length in bytes, so a reader
+     * that only needs the newest moves can skip the rest.
+     * @param state the state to write to
+     */
+    public void writeState(StateBuffer state) {
+        state.writeVarint(depth);
+        state.writeVarint(size);
+
+        int lengthOffset = state.size();
+        state.writeFixedInt(0);
+
+        int previousTail = NO_CELL;
+        for(int i = 0; i < size; i++) {
+            int move = (newest - i + directions.length) % directions.length;
+            int tail = tails[move];
+
+            int tailCode;
+            if(tail == SnakeBody.NO_CELL) {
+                tailCode = NO_TAIL;
+            }
+            else if(tail == SnakeBody.EMPTY_MOVE) {
+                tailCode = EMPTY_TAIL;
+            }
+            else {
+                tailCode = SnakeBody.getStep(previousTail, tail);
+                previousTail = tail;
+            }
+
+            state.writeByte(directions[move] | (tailCode << TAIL_SHIFT) | (growths[move] != 0 ? GROWTH_FLAG : 0) | (jumps[move] != NO_CELL ? JUMP_FLAG : 0));
+            if(tailCode == SnakeBody.ABSOLUTE_CELL) {
+                state.writeSignedVarint(Position.unpackX(tail));
+                state.writeSignedVarint(Position.unpackY(tail));
+            }
+
+            if(growths[move] != 0) {
+                state.writeVarint(growths[move]);
+            }
+
+            if(jumps[move] != NO_CELL) {
+                state.writeSignedVarint(Position.unpackX(jumps[move]));
+                state.writeSignedVarint(Position.unpackY(jumps[move]));
+            }
+        }
+
+        state.setFixedInt(lengthOffset, state.size() - lengthOffset - Integer.BYTES);
+    }
+
+    /**
+     * Replaces the depth and every move with the ones written by writeState.
+     * @param state the state to read from
+     */
+    public void readState(StateBuffer state) {
+        readState(state, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Replaces the depth and the moves with the newest moves written by writeState, skipping the older moves.
+     * NOTE: A world that is only played for a few ticks can't rewind further than a move per tick, so it only needs as
+     * many moves as it plays ticks.
+     * @param state the state to read from
+     * @param maxMoves the max amount of newest moves to read
+     */
+    public void readState(StateBuffer state, int maxMoves) {
+        // the journal is cleared anyway, so only a new depth needs new buffers
+        int stateDepth = state.readInt();
+        if(stateDepth != depth) {
+            setDepth(stateDepth);
+        }
+
+        clear();
+
+        int amount = state.readInt();
+        int length = state.readFixedInt();
+        int end = state.getPosition() + length;
+
+        int kept = Math.min(Math.min(amount, depth), Math.max(maxMoves, 0));
+        while(directions.length < kept) {
+            grow();
+        }
+
+        // the moves come newest first, so they fill the buffers from the newest slot down
+        int previousTail = NO_CELL;
+        for(int i = 0; i < kept; i++) {
+            int header = state.readByte();
+            int tailCode = (header >>> TAIL_SHIFT) & 7;
+
+            int tail;
+            if(tailCode == NO_TAIL) {
+                tail = SnakeBody.NO_CELL;
+            }
+            else if(tailCode == EMPTY_TAIL) {
+                tail = SnakeBody.EMPTY_MOVE;
+            }
+            else {
+                if(tailCode == SnakeBody.ABSOLUTE_CELL) {
+                    tail = Position.pack((int) state.readSignedVarint(), (int) state.readSignedVarint());
+                }
+                else {
+                    tail = MoveableBlock.getMovedKey(tailCode, previousTail);
+                }
+
+                previousTail = tail;
+            }
+
+            int move = kept - 1 - i;
+            directions[move] = (byte) (header & 3);
+            tails[move] = tail;
+            growths[move] = (header & GROWTH_FLAG) != 0 ? state.readInt() : 0;
+            jumps[move] = (header & JUMP_FLAG) != 0 ? Position.pack((int) state.readSignedVarint(), (int) state.readSignedVarint()) : NO_CELL;
+        }
+
+        newest = kept - 1;
+        size = kept;
+
+        state.skip(end - state.getPosition());
+    }
+
+    /**
+     * Doubles the buffers without exceeding the depth.
+     */
+    private void grow() {
+        resize((int) Math.min((long) directions.length * 2, depth), size);
+    }
+
+    /**
+     * Resizes the buffers keeping the newest moves in order.
+     * @param capacity the new capacity
+     * @param keep the amount of newest moves to keep
+     */
+    private void resize(int capacity, int keep) {
+        byte[] newDirections = new byte[capacity];
+        int[] newTails = new int[capacity];
+        int[] newGrowths = new int[capacity];
+        int[] newJumps = new int[capacity];
+
+        for(int i = 0; i < keep; i++) {
+            int from = (newest - keep + 1 + i + directions.length) % directions.length;
+            newDirections[i] = directions[from];
+            newTails[i] = tails[from];
+            newGrowths[i] = growths[from];
+            newJumps[i] = jumps[from];
+        }
+
+        directions = newDirections;
+        tails = newTails;
+        growths = newGrowths;
+        jumps = newJumps;
+
+        newest = keep - 1;
+        size = keep;
+    }
+}
@@ -0,0 +1,318 @@
+package snake;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * An AI strategy that plays out the near future. For every safe direction it restores the snapshot the world took at the
+ * start of the tick into worlds of its own, makes the move and lets every snake play on with the probabilistic AI for a
+ * few ticks, then goes in the direction whose playouts survived longest and ate the most food on average.
+ * The playouts run in parallel on a fork join pool of their own, so they don't take the threads the snakes decide on,
+ * and stop early to stay within the time budget. Every task plays its seeds for every direction in turn, so a time cut
+ * leaves the directions with about as many playouts and the directions are compared on the same futures.
+ * NOTE: The strategy makes the snake's world take tick snapshots from when it's created until it's released. The
+ * playouts step their worlds like any other world, so they show up in SnakeMetrics and the flight recorder as ticks of
+ * their own.
+ */
+public class RolloutSnakeAI implements SnakeAIStrategy {
+    public static final int ROLLOUT_AMOUNT = 32, HORIZON = 32, SURVIVAL_BONUS = HORIZON, FOOD_WEIGHT = 8;
+    public static final int TASKS_PER_THREAD = 2, BUDGET_RESERVE_DIVISOR = 4;
+    private static final long ABORTED = -1;
+    private static final ForkJoinPool ROLLOUT_POOL = new ForkJoinPool(Math.max(Runtime.getRuntime().availableProcessors() - 1, 1),
+            new ForkJoinPool.ForkJoinWorkerThreadFactory() {
+                @Override
+                public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    thread.setName("Snake Rollout");
+
+                    return thread;
+                }
+            }, null, false);
+    private Snake snake;
+    private SnakeWorld world;
+    private int[] candidates, rollouts;
+    private long[] scores;
+    private RolloutTask[] tasks;
+
+    /**
+     * Creates a RolloutSnakeAI and makes the snake's world take a snapshot every tick.
+     * @param snake the snake that will use this AI
+     */
+    public RolloutSnakeAI(Snake snake) {
+        this.snake = snake;
+
+        // the buffers and tasks are reused by every decision, a task's world is only forked by its first playout
+        candidates = new int[Block.DIRECTION_AMOUNT];
+        rollouts = new int[Block.DIRECTION_AMOUNT];
+        scores = new long[Block.DIRECTION_AMOUNT];
+        tasks = new RolloutTask[ROLLOUT_AMOUNT];
+
+        // the snapshots are acquired while the strategy is installed, deciding only reads the world
+        world = snake.getWorld();
+        if(world != null) {
+            world.acquireTickSnapshots();
+        }
+    }
+
+    /**
+     * Releases the world's tick snapshots and drops the tasks with the worlds the playouts ran in.
+     */
+    @Override
+    public void release() {
+        if(world != null) {
+            world.releaseTickSnapshots();
+            world = null;
+        }
+
+        Arrays.fill(tasks, null);
+    }
+
+    /**
+     * Gets the safe direction whose playouts did best.
+     * NOTE: Some time of the budget is kept in reserve for joining the playouts, a playout that isn't done by then doesn't count.
+     * @param deadline the System.nanoTime() value the playouts should finish by
+     * @return the direction, or NO_DIRECTION if there's no snapshot of this tick, no safe direction or no playout finished in time
+     */
+    @Override
+    public int getAIDirection(long deadline) {
+        long start = System.nanoTime();
+
+        if(world == null) {
+            return NO_DIRECTION;
+        }
+
+        SnakeSnapshot snapshot = world.getTickSnapshot();
+        if(snapshot == null || snapshot.getTick() != world.getTick()) {
+            return NO_DIRECTION;
+        }
+
+        // going straight comes first so it wins ties, like the probabilistic AI mostly goes straight
+        int candidateAmount = 0;
+        for(int i = 0; i < Block.DIRECTION_AMOUNT; i++) {
+            int direction = (snake.direction + i) % Block.DIRECTION_AMOUNT;
+            if(snake.isLegalDirectionChange(direction) && !snake.spotWillCollide(direction)) {
+                candidates[candidateAmount++] = direction;
+            }
+        }
+
+        if(candidateAmount <= 1) {
+            return candidateAmount == 1 ? candidates[0] : NO_DIRECTION;
+        }
+
+        // the seed comes from the snake's own random so an unlimited budget gives the same choice every time
+        long seed = snake.getRandom().nextLong();
+        long stopTime = deadline - (deadline - start) / BUDGET_RESERVE_DIVISOR;
+
+        // split the seeds into a few tasks per free thread of the pool and the calling thread so they share the work evenly,
+        // a single core or a pool busy with other snakes' playouts leaves every seed to the calling thread
+        int freeThreads = Runtime.getRuntime().availableProcessors() == 1 ? 0
+                : Math.max(ROLLOUT_POOL.getParallelism() - ROLLOUT_POOL.getActiveThreadCount(), 0);
+        int taskAmount = freeThreads == 0 ? 1 : Math.min(ROLLOUT_AMOUNT, (freeThreads + 1) * TASKS_PER_THREAD);
+        for(int task = 0; task < taskAmount; task++) {
+            if(tasks[task] == null) {
+                tasks[task] = new RolloutTask();
+            }
+
+            tasks[task].prepare(snapshot, candidateAmount, ROLLOUT_AMOUNT * task / taskAmount, ROLLOUT_AMOUNT * (task + 1) / taskAmount,
+                    seed, stopTime);
+        }
+
+        // the calling thread plays the first task while the pool plays the rest
+        for(int task = 1; task < taskAmount; task++) {
+            ROLLOUT_POOL.execute(tasks[task]);
+        }
+
+        tasks[0].invoke();
+
+        Arrays.fill(scores, 0);
+        Arrays.fill(rollouts, 0);
+        for(int task = 0; task < taskAmount; task++) {
+            RolloutTask rolloutTask = tasks[task];
+            rolloutTask.join();
+
+            for(int direction = 0; direction < Block.DIRECTION_AMOUNT; direction++) {
+                scores[direction] += rolloutTask.scores[direction];
+                rollouts[direction] += rolloutTask.rollouts[direction];
+            }
+        }
+
+        // compare averages, a time cut can leave the directions with different amounts of finished playouts
+        int bestDirection = NO_DIRECTION;
+        double bestScore = 0;
+        for(int i = 0; i < candidateAmount; i++) {
+            int direction = candidates[i];
+            if(rollouts[direction] == 0) {
+                continue;
+            }
+
+            double score = (double) scores[direction] / rollouts[direction];
+            if(bestDirection == NO_DIRECTION || score > bestScore) {
+                bestDirection = direction;
+                bestScore = score;
+            }
+        }
+
+        return bestDirection;
+    }
+
+    /**
+     * A task that plays out a range of seeds for every candidate direction in a world of its own.
+     * NOTE: A task is reused by every decision of its strategy, prepare resets it for the next decision.
+     */
+    private class RolloutTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final Rollout rollout;
+        private final long[] scores;
+        private final int[] rollouts;
+        private SnakeSnapshot snapshot;
+        private int candidateAmount, start, end;
+        private long seed, stopTime;
+
+        /**
+         * Creates a rollout task and the rollout it plays in.
+         */
+        public RolloutTask() {
+            rollout = new Rollout();
+            scores = new long[Block.DIRECTION_AMOUNT];
+            rollouts = new int[Block.DIRECTION_AMOUNT];
+        }
+
+        /**
+         * Prepares the task for a decision.
+         * @param snapshot the snapshot of the tick the snake decides in
+         * @param candidateAmount the amount of candidate directions the snake can go in first
+         * @param start the index of the first seed
+         * @param end the index after the last seed
+         * @param seed the decision's seed, the playouts' seeds are derived from it and their index
+         * @param stopTime the System.nanoTime() value the playouts should stop at
+         */
+        public void prepare(SnakeSnapshot snapshot, int candidateAmount, int start, int end, long seed, long stopTime) {
+            reinitialize();
+
+            this.snapshot = snapshot;
+            this.candidateAmount = candidateAmount;
+            this.start = start;
+            this.end = end;
+            this.seed = seed;
+            this.stopTime = stopTime;
+
+            Arrays.fill(scores, 0);
+            Arrays.fill(rollouts, 0);
+        }
+
+        /**
+         * Plays out the seeds for every direction in turn until they are done or the stop time passed.
+         */
+        @Override
+        protected void compute() {
+            for(int i = start; i < end; i++) {
+                for(int j = 0; j < candidateAmount; j++) {
+                    if(System.nanoTime() - stopTime > 0) {
+                        return;
+                    }
+
+                    int direction = candidates[j];
+                    long score = rollout.play(snapshot, snake.getId(), direction, seed + i, stopTime);
+                    if(score == ABORTED) {
+                        return;
+                    }
+
+                    scores[direction] += score;
+                    rollouts[direction]++;
+                }
+            }
+        }
+    }
+
+    /**
+     * A world to play out snapshots in, reused as long as the snapshots are of the same world.
+     */
+    private static class Rollout {
+        private SnakeWorld world;
+        private SnakeRandom random;
+
+        /**
+         * Creates a rollout without a world, the first playout forks one.
+         */
+        public Rollout() {
+            world = null;
+            random = new SnakeRandom();
+        }
+
+        /**
+         * Plays out a snapshot with a snake going in a direction first and every snake deciding with the probabilistic AI after.
+         * @param snapshot the snapshot
+         * @param id the snake's id
+         * @param direction the direction the snake goes in first
+         * @param seed the playout's seed
+         * @param stopTime the System.nanoTime() value the playout is aborted at
+         * @return the ticks survived, the survival bonus if the snake is alive at the horizon and the weighted food eaten,
+         * or ABORTED if the stop time passed
+         */
+        public long play(SnakeSnapshot snapshot, int id, int direction, long seed, long stopTime) {
+            // the strategies are locked to the probabilistic AI so restoring doesn't bring back the strategies of the snapshot,
+            // and a playout can't rewind a snake further back than its horizon, so the rest of the journals isn't restored
+            if(world == null || !snapshot.matches(world)) {
+                world = snapshot.fork();
+                world.setAIStrategy(SnakeAIRegistry.PROBABILISTIC);
+                world.setAIStrategyLocked(true);
+                world.setRestoredRewindDepth(HORIZON);
+            }
+            else {
+                snapshot.restore(world);
+            }
+
+            if(System.nanoTime() - stopTime > 0) {
+                return ABORTED;
+            }
+
+            if(world.isRespawnOnDeath()) {
+                world.toggleRespawnOnDeath();
+            }
+
+            // every snake gets a new stream so the playouts differ, the snapshot's streams would play out the same future
+            random.setState(seed);
+            List<Snake> snakeList = world.getSnakeList();
+            for(int i = 0; i < snakeList.size(); i++) {
+                Snake snake = snakeList.get(i);
+                if(!snake.isAI()) {
+                    snake.toggleAIStatus();
+                }
+
+                snake.getRandom().setState(random.nextLong());
+            }
+
+            Snake snake = snakeList.get(id);
+            int foodEaten = snake.getFoodEaten();
+
+            // the snake goes in the direction by hand for the first tick
+            snake.toggleAIStatus();
+            snake.setDirection(direction);
+            world.step();
+            snake.toggleAIStatus();
+
+            int ticks = 1;
+            while(!snake.isDead() && ticks < HORIZON) {
+                if(System.nanoTime() - stopTime > 0) {
+                    return ABORTED;
+                }
+
+                world.step();
+                ticks++;
+            }
+
+            long score = FOOD_WEIGHT * (snake.getFoodEaten() - foodEaten);
+            if(snake.isDead()) {
+                score += ticks - 1;
+            }
+            else {
+                score += ticks + SURVIVAL_BONUS;
+            }
+
+            return score;
+        }
+    }
+}
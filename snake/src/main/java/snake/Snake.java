@@ -0,0 +1,930 @@
+package snake;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A snake.
+ */
+public class Snake extends MoveableBlock {
+    public static final long DEFAULT_AI_BUDGET = 1000000;
+    private final int AMOUNT_OF_TAILS_TO_ADD = 3;
+    private boolean isDead, isAI, inRewind;
+    private SnakeBody body;
+    private List<Teleporter> teleporterList;
+    private List<Food> foodList;
+    private FoodIndex foodIndex;
+    private FoodClaimTable foodClaimTable;
+    private List<Snake> snakeList;
+    private int foodEaten, id;
+    private SnakeAI snakeAI;
+    private SnakeAIStrategy aiStrategy;
+    private String aiStrategyName;
+    private long aiBudget, aiOverruns, aiFallbacks;
+    private int decidedDirection, movedDirection, restoredRewindDepth;
+    private boolean hasDecided, aiFallback, aiStrategyLocked;
+    private SnakeWorld world;
+    private OccupancyGrid occupancyGrid;
+
+    /**
+     * Creates a snake.
+     * @param direction the snake's direction
+     * @param position the snake's position
+     * @param minPosition the snake's min position
+     * @param maxPosition the snake's max position
+     */
+    public Snake(int direction, Position position, Position minPosition, Position maxPosition) {
+        this(direction, position, minPosition, maxPosition, new OccupancyGrid(minPosition, maxPosition), 0);
+    }
+
+    /**
+     * Creates a snake that tracks its tails in a shared occupancy grid.
+     * NOTE: Large worlds should use this so every snake doesn't allocate a grid the size of the board.
+     * @param direction the snake's direction
+     * @param position the snake's position
+     * @param minPosition the snake's min position
+     * @param maxPosition the snake's max position
+     * @param occupancyGrid the occupancy grid
+     * @param id the snake's id within the occupancy grid
+     */
+    public Snake(int direction, Position position, Position minPosition, Position maxPosition, OccupancyGrid occupancyGrid, int id) {
+        super(direction, position, minPosition, maxPosition);
+
+        isDead = false;
+        isAI = false;
+        inRewind = false;
+
+        body = new SnakeBody();
+        teleporterList = new ArrayList<>();
+        foodList = new ArrayList<>();
+        snakeList = new ArrayList<>();
+        foodClaimTable = new FoodClaimTable();
+
+        foodEaten = 0;
+
+        this.occupancyGrid = occupancyGrid;
+        this.id = id;
+        body.attachOccupancyGrid(occupancyGrid, id);
+        addHeadToOccupancyGrid();
+
+        snakeAI = new SnakeAI(this);
+        aiStrategy = snakeAI;
+        aiStrategyName = SnakeAIRegistry.PROBABILISTIC;
+        aiBudget = DEFAULT_AI_BUDGET;
+        aiOverruns = 0;
+        aiFallbacks = 0;
+        hasDecided = false;
+        aiFallback = false;
+        aiStrategyLocked = false;
+        restoredRewindDepth = Integer.MAX_VALUE;
+    }
+
+    /**
+     * Attaches an occupancy grid shared with the foods, teleporters and other snakes.
+     * NOTE: The grid must be attached before the snake grows any tails.
+     * @param occupancyGrid the occupancy grid
+     * @param id the snake's id within the occupancy grid
+     */
+    public void attachOccupancyGrid(OccupancyGrid occupancyGrid, int id) {
+        removeHeadFromOccupancyGrid();
+
+        this.occupancyGrid = occupancyGrid;
+        this.id = id;
+
+        body.attachOccupancyGrid(occupancyGrid, id);
+        addHeadToOccupancyGrid();
+    }
+
+    /**
+     * Attaches a random number generator used by the snake and its probabilistic AI.
+     * NOTE: Every snake needs its own generator, split it off a shared one so the snakes can decide in parallel.
+     * @param random the random number generator
+     */
+    @Override
+    public void attachRandom(SnakeRandom random) {
+        super.attachRandom(random);
+
+        snakeAI.attachRandom(random);
+    }
+
+    /**
+     * Attaches the world the snake plays in, for AI strategies that look ahead by simulating it.
+     * @param world the world
+     */
+    public void attachWorld(SnakeWorld world) {
+        this.world = world;
+    }
+
+    /**
+     * Gets the world the snake plays in.
+     * @return the world, or null if the snake isn't attached to one
+     */
+    protected SnakeWorld getWorld() {
+        return world;
+    }
+
+    /**
+     * Attaches a list of teleporters for the AI movement.
+     * @param teleporterList the list of teleporters
+     */
+    public void attachTeleporterList(List<Teleporter> teleporterList) {
+        this.teleporterList = teleporterList;
+    }
+
+    /**
+     * Attaches a list of foods for the AI movement.
+     * @param foodList the list of foods
+     */
+    public void attachFoodList(List<Food> foodList) {
+        this.foodList = foodList;
+    }
+
+    /**
+     * Attaches a food index over the food list for the AI movement.
+     * NOTE: Without an index the AI searches the food list.
+     * @param foodIndex the food index
+     */
+    public void attachFoodIndex(FoodIndex foodIndex) {
+        this.foodIndex = foodIndex;
+    }
+
+    /**
+     * Attaches a claim table shared with the other snakes that records which snake has which food as its goal.
+     * @param foodClaimTable the claim table
+     */
+    public void attachFoodClaimTable(FoodClaimTable foodClaimTable) {
+        this.foodClaimTable = foodClaimTable;
+    }
+
+    /**
+     * Attaches a list of snakes for the AI movement.
+     * @param snakeList the list of snakes
+     */
+    public void attachSnakeList(List<Snake> snakeList) {
+        this.snakeList = snakeList;
+    }
+
+    /**
+     * Runs the snake.
+     * @param respawnOnDeath should the snake repsawn on death
+     */
+    public void run(boolean respawnOnDeath) {
+        movedDirection = SnakeAIStrategy.NO_DIRECTION;
+
+        if(inRewind) {
+            isDead = false;
+        }
+
+        if(!isDead) {
+            long time = SnakeMetrics.start();
+            move();
+            time = SnakeMetrics.record(SnakeMetrics.MOVE, time);
+
+            // if we are rewinding we shouldn't eat food / teleport / check collision
+            if(!inRewind) {
+                eat();
+
+                int fromX = position.x;
+                int fromY = position.y;
+                if(checkTeleporter() && SnakeTeleportEvent.isRecorded()) {
+                    SnakeTeleportEvent event = new SnakeTeleportEvent();
+                    event.snake = id;
+                    event.fromX = fromX;
+                    event.fromY = fromY;
+                    event.toX = position.x;
+                    event.toY = position.y;
+                    event.commit();
+                }
+
+                time = SnakeMetrics.record(SnakeMetrics.EAT, time);
+
+                boolean collided = collided();
+                SnakeMetrics.record(SnakeMetrics.COLLIDE, time);
+
+                if(collided && respawnOnDeath) {
+                    respawn();
+                }
+            }
+        }
+    }
+
+    /**
+     * Attempts to eat the foods at the snake's position.
+     * @return true if the snake ate a food
+     */
+    private boolean eat() {
+        boolean ate = false;
+
+        if(!willEat(position)) {
+            return ate;
+        }
+
+        // an eaten food teleports to a free cell, so the loop ends once every food on the head's cell is eaten
+        Food food = getFoodAt(position);
+        while(food != null) {
+            foodClaimTable.take(food);
+
+            snakeAI.removeGoalFood();
+
+            food.teleport();
+            addTails();
+            rewindJournal.addGrowth(AMOUNT_OF_TAILS_TO_ADD);
+            foodEaten++;
+
+            ate = true;
+            food = getFoodAt(position);
+        }
+
+        return ate;
+    }
+
+    /**
+     * Gets a food at a position, looked up in the food index if one is attached.
+     * @param position the position
+     * @return a food at the position, or null if there is none
+     */
+    private Food getFoodAt(Position position) {
+        if(foodIndex != null) {
+            return foodIndex.getFoodAt(position.x, position.y);
+        }
+
+        for(int i = 0; i < foodList.size(); i++) {
+            Food food = foodList.get(i);
+            if(food.position.equals(position)) {
+                return food;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Checks if a position will lead to the snake eating a food.
+     * @param position the position
+     * @return true if a position will lead to the snake eating a food
+     */
+    protected boolean willEat(Position position) {
+        return willEat(position.x, position.y);
+    }
+
+    /**
+     * Checks if an x and y value will lead to the snake eating a food.
+     * @param x the x value
+     * @param y the y value
+     * @return true if the x and y value will lead to the snake eating a food
+     */
+    protected boolean willEat(int x, int y) {
+        return occupancyGrid.hasFood(occupancyGrid.getCell(x, y));
+    }
+
+    /**
+     * Attempts to teleport the snake.
+     * @return true on success
+     */
+    private boolean checkTeleporter() {
+        if(!willTeleport()) {
+            return false;
+        }
+
+        for(int i = 0; i < teleporterList.size(); i++) {
+            Teleporter teleporter = teleporterList.get(i);
+
+            if(teleporter.entranceBlock.position.equals(position)) {
+                rewindJournal.setJump(position.toKey());
+                setHeadPosition(getPosition(teleporter.exitBlock.position.x, teleporter.exitBlock.position.y));
+
+                teleporter.teleportOtherBlock(teleporter.entranceBlock);
+
+                snakeAI.removeGoalFood();
+
+                return true;
+            }
+            else if(teleporter.exitBlock.position.equals(position)) {
+                rewindJournal.setJump(position.toKey());
+                setHeadPosition(getPosition(teleporter.entranceBlock.position.x, teleporter.entranceBlock.position.y));
+
+                teleporter.teleportOtherBlock(teleporter.exitBlock);
+
+                snakeAI.removeGoalFood();
+
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks if the snake will teleport.
+     * @return true if the snake will teleport
+     */
+    private boolean willTeleport() {
+        return occupancyGrid.hasTeleporter(occupancyGrid.getCell(position));
+    }
+
+    /**
+     * Tells the snake that its goal food was taken by another snake or eaten.
+     * @param food the food that was taken
+     */
+    protected void loseGoalFood(Food food) {
+        snakeAI.removeGoalFood(food);
+    }
+
+    /**
+     * Adds tails to this snake.
+     */
+    private void addTails() {
+        body.grow(AMOUNT_OF_TAILS_TO_ADD);
+    }
+
+    /**
+     * Respawns the snake at its initial position with its initial direction.
+     */
+    public void respawn() {
+        respawn(initialDirection, initialPosition);
+    }
+
+    /**
+     * Respawns the snake at the given direction and position.
+     * @param direction the direction
+     * @param position the position
+     */
+    public void respawn(int direction, Position position) {
+        this.direction = direction;
+        setHeadPosition(position);
+
+        // clear rewind journal
+        clearRewindJournal();
+
+        isDead = false;
+
+        // clear tails
+        body.clear();
+
+        foodEaten = 0;
+        snakeAI.removeGoalFood();
+    }
+
+    /**
+     * Writes the snake's head, direction, tails, rewind journal, food eaten and random state.
+     * NOTE: Who controls the snake, its AI status and strategy, is not part of its state.
+     * @param state the state to write to
+     */
+    public void writeState(StateBuffer state) {
+        state.writeSignedVarint(position.x);
+        state.writeSignedVarint(position.y);
+        state.writeByte(direction);
+        state.writeBoolean(isDead);
+        state.writeBoolean(inRewind);
+        state.writeVarint(foodEaten);
+        state.writeLong(getRandom() != null ? getRandom().getState() : 0);
+
+        body.writeState(state);
+        rewindJournal.writeState(state);
+    }
+
+    /**
+     * Replaces the snake's state with the one written by writeState and drops its goal food.
+     * @param state the state to read from
+     */
+    public void readState(StateBuffer state) {
+        setHeadPosition(getPosition((int) state.readSignedVarint(), (int) state.readSignedVarint()));
+        direction = state.readByte();
+        isDead = state.readBoolean();
+        inRewind = state.readBoolean();
+        foodEaten = state.readInt();
+
+        long randomState = state.readLong();
+        if(getRandom() != null) {
+            getRandom().setState(randomState);
+        }
+
+        body.readState(state);
+        rewindJournal.readState(state, restoredRewindDepth);
+
+        snakeAI.removeGoalFood();
+        hasDecided = false;
+    }
+
+    /**
+     * Writes who controls the snake: its AI status, strategy and budget and the probabilistic AI's state.
+     * NOTE: Together with writeState this is everything a copy of the snake needs to make the same choices.
+     * @param state the state to write to
+     */
+    public void writeAIState(StateBuffer state) {
+        state.writeBoolean(isAI);
+        state.writeVarint(SnakeAIRegistry.indexOf(aiStrategyName));
+        state.writeVarint(aiBudget);
+
+        snakeAI.writeState(state);
+    }
+
+    /**
+     * Replaces who controls the snake with the one written by writeAIState.
+     * NOTE: The strategy is only recreated if it differs and isn't locked, so restoring a copy again is cheap. The
+     * strategy is written as its registry index, so reading it doesn't allocate its name.
+     * @param state the state to read from
+     */
+    public void readAIState(StateBuffer state) {
+        isAI = state.readBoolean();
+
+        String name = SnakeAIRegistry.getName((int) state.readVarint());
+        if(!aiStrategyLocked && !name.equals(aiStrategyName)) {
+            setAIStrategy(name);
+        }
+
+        aiBudget = state.readVarint();
+
+        snakeAI.readState(state);
+    }
+
+    /**
+     * Gets whether or not this snake is an AI.
+     * @return true if this snake is an AI
+     */
+    public boolean isAI() {
+        return isAI;
+    }
+
+    /**
+     * Toggles the AI status of this snake.
+     */
+    public void toggleAIStatus() {
+        isAI = !isAI;
+    }
+
+    /**
+     * Sets this snake's AI strategy to a registered strategy and releases the strategy it replaces.
+     * @param name the name the strategy is registered with in the SnakeAIRegistry
+     */
+    public void setAIStrategy(String name) {
+        SnakeAIStrategy previousStrategy = aiStrategy;
+
+        if(SnakeAIRegistry.PROBABILISTIC.equals(name)) {
+            aiStrategy = snakeAI;
+        }
+        else {
+            aiStrategy = SnakeAIRegistry.create(name, this);
+        }
+
+        aiStrategyName = name;
+
+        // the new strategy is created first so what both strategies need isn't dropped in between
+        if(previousStrategy != aiStrategy) {
+            previousStrategy.release();
+        }
+    }
+
+    /**
+     * Sets whether or not the AI strategy is kept when an AI state is read, so a simulated copy of a world keeps the
+     * strategy it simulates with.
+     * @param aiStrategyLocked true to keep the strategy
+     */
+    public void setAIStrategyLocked(boolean aiStrategyLocked) {
+        this.aiStrategyLocked = aiStrategyLocked;
+    }
+
+    /**
+     * Sets how many of the newest moves of the rewind journal are read when a state is read, so a simulated copy of a
+     * world that is only played for a few ticks doesn't read the whole journal every time it's restored.
+     * @param restoredRewindDepth the max amount of moves, Integer.MAX_VALUE to read every move
+     */
+    public void setRestoredRewindDepth(int restoredRewindDepth) {
+        this.restoredRewindDepth = restoredRewindDepth;
+    }
+
+    /**
+     * Gets the name of this snake's AI strategy.
+     * @return the name of the strategy
+     */
+    public String getAIStrategyName() {
+        return aiStrategyName;
+    }
+
+    /**
+     * Sets the time an AI strategy gets per decision before falling back to the probabilistic behavior.
+     * @param aiBudget the budget in nanoseconds
+     */
+    public void setAIBudget(long aiBudget) {
+        this.aiBudget = aiBudget;
+    }
+
+    /**
+     * Gets the amount of decisions where the AI strategy overran its budget.
+     * @return the amount of overruns
+     */
+    public long getAIOverruns() {
+        return aiOverruns;
+    }
+
+    /**
+     * Gets the amount of decisions where the AI strategy overran its budget or couldn't decide, so the snake fell back
+     * to the probabilistic behavior.
+     * @return the amount of fallbacks
+     */
+    public long getAIFallbacks() {
+        return aiFallbacks;
+    }
+
+    /**
+     * Decides this snake's AI direction without changing the world.
+     * The decision is applied by the next run, which lets every snake decide against the same world, even in parallel.
+     */
+    public void decideDirection() {
+        hasDecided = false;
+
+        if(isAI && !isDead && !inRewind) {
+            // the event is only created while it's recorded, so the decision doesn't allocate otherwise
+            long time = SnakeMetrics.start();
+            SnakeDecisionEvent event = null;
+            if(SnakeDecisionEvent.isRecorded()) {
+                event = new SnakeDecisionEvent();
+                event.begin();
+            }
+
+            decidedDirection = getAIDirection();
+            SnakeMetrics.record(SnakeMetrics.DECIDE, time);
+            hasDecided = true;
+
+            if(event != null && event.shouldCommit()) {
+                commitDecisionEvent(event);
+            }
+        }
+    }
+
+    /**
+     * Fills in and commits a flight recorder event for the last decision.
+     * @param event the event, begun before the decision
+     */
+    private void commitDecisionEvent(SnakeDecisionEvent event) {
+        boolean probabilistic = aiStrategy == snakeAI || aiFallback;
+        Food goalFood = probabilistic ? snakeAI.getDecidedGoalFood() : null;
+
+        event.snake = id;
+        event.strategy = aiStrategyName;
+        event.branch = probabilistic ? SnakeAI.BRANCH_NAMES[snakeAI.getDecidedBranch()] : aiStrategyName;
+        event.fallback = aiFallback;
+        event.direction = isDirection(decidedDirection) ? DIRECTION_NAMES[decidedDirection] : null;
+        event.hasGoalFood = goalFood != null;
+        if(goalFood != null) {
+            event.goalFoodX = goalFood.position.x;
+            event.goalFoodY = goalFood.position.y;
+        }
+
+        event.commit();
+    }
+
+    /**
+     * Gets the AI strategy's direction, falling back to the probabilistic behavior if it can't decide within the budget.
+     * @return the AI direction
+     */
+    private int getAIDirection() {
+        aiFallback = false;
+
+        if(aiStrategy == snakeAI) {
+            return snakeAI.getAIDirection();
+        }
+
+        long deadline = System.nanoTime() + aiBudget;
+        int aiDirection = aiStrategy.getAIDirection(deadline);
+
+        boolean overran = System.nanoTime() - deadline > 0;
+        if(overran) {
+            aiOverruns++;
+        }
+
+        if(overran || aiDirection == SnakeAIStrategy.NO_DIRECTION) {
+            aiFallback = true;
+            aiFallbacks++;
+            aiDirection = snakeAI.getAIDirection();
+        }
+
+        return aiDirection;
+    }
+
+    /**
+     * Gets whether or not this snake is dead.
+     * @return true if this snake is dead
+     */
+    public boolean isDead() {
+        return isDead;
+    }
+
+    /**
+     * Sets the direction of this snake.
+     * @param direction the direction
+     */
+    public void setDirection(int direction) {
+        if(isLegalDirectionChange(direction)) {
+            this.direction = direction;
+        }
+    }
+
+    /**
+     * Gets the direction this snake moved in during its last run.
+     * NOTE: The direction can differ from the current direction if the snake respawned after moving.
+     * @return the direction, or SnakeAIStrategy.NO_DIRECTION if the snake was dead or rewinding
+     */
+    public int getMovedDirection() {
+        return movedDirection;
+    }
+
+    /**
+     * Sets the direction of this snake without checking if the change is legal.
+     * NOTE: Only meant for replaying directions that were legal when they were recorded.
+     * @param direction the direction
+     */
+    protected void forceDirection(int direction) {
+        this.direction = direction;
+    }
+
+    /**
+     * Checks if the given direction can be used as the new direction of the snake.
+     * @param direction the direction to check
+     * @return true if the given direction is legal
+     */
+    protected boolean isLegalDirectionChange(int direction) {
+        return isDirection(direction) && OPPOSITE_DIRECTIONS[this.direction] != direction;
+    }
+
+    /**
+     * Gets the body holding the snake's tails.
+     * @return the body
+     */
+    public SnakeBody getBody() {
+        return body;
+    }
+
+    /**
+     * Gets the snake's id within its occupancy grid.
+     * @return the id
+     */
+    protected int getId() {
+        return id;
+    }
+
+    /**
+     * Gets the occupancy grid.
+     * @return the occupancy grid
+     */
+    protected OccupancyGrid getOccupancyGrid() {
+        return occupancyGrid;
+    }
+
+    /**
+     * Gets the teleporter list.
+     * @return the teleporter list
+     */
+    protected List<Teleporter> getTeleporterList() {
+        return teleporterList;
+    }
+
+    /**
+     * Gets the food list.
+     * @return the food list
+     */
+    protected List<Food> getFoodList() {
+        return foodList;
+    }
+
+    /**
+     * Gets the food index.
+     * @return the food index, or null if none is attached
+     */
+    protected FoodIndex getFoodIndex() {
+        return foodIndex;
+    }
+
+    /**
+     * Gets the goal food.
+     * @return the goal food
+     */
+    protected Food getGoalFood() {
+        return snakeAI.getGoalFood();
+    }
+
+    /**
+     * Gets the food claim table.
+     * @return the food claim table
+     */
+    protected FoodClaimTable getFoodClaimTable() {
+        return foodClaimTable;
+    }
+
+    /**
+     * Gets the snake list.
+     * @return the snake list
+     */
+    protected List<Snake> getSnakeList() {
+        return snakeList;
+    }
+
+    /**
+     * Gets the amount of food eaten.
+     * @return the amount of food eaten
+     */
+    public int getFoodEaten() {
+        return foodEaten;
+    }
+
+    /**
+     * Checks if the snake collided with its blocks or the bounds.
+     * @return true if it collided with its blocks or the bounds
+     */
+    private boolean collided() {
+        if(spotCollided(position)) {
+            isDead = true;
+
+            if(SnakeDeathEvent.isRecorded()) {
+                SnakeDeathEvent event = new SnakeDeathEvent();
+                event.snake = id;
+                event.cause = spotIsOutOfBounds(position.x, position.y) ? "wall" : "tail";
+                event.x = position.x;
+                event.y = position.y;
+                event.length = body.getLength();
+                event.foodEaten = foodEaten;
+                event.commit();
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks if the snake will collide after going in this direction.
+     * @param direction the direciton to try
+     * @return true if the snake will collide
+     */
+    protected boolean spotWillCollide(int direction) {
+        int movedKey = getMovedKey(direction);
+        int movedX = Position.unpackX(movedKey);
+        int movedY = Position.unpackY(movedKey);
+
+        if(spotIsOutOfBounds(movedX, movedY)) {
+            return true;
+        }
+
+        // the last tail moves out of the way unless the body is growing
+        int tailCount = occupancyGrid.getSnakeCount(id, occupancyGrid.getCell(movedX, movedY));
+        if(tailCount > 0 && !body.isGrowing() && body.getLast() == movedKey) {
+            tailCount--;
+        }
+
+        return tailCount > 0;
+    }
+
+    /**
+     * Checks if a position has collided with the snake's blocks or is out of bounds.
+     * @param position the position
+     * @return true if the position collided with the snake's blocks or is out of bounds
+     */
+    private boolean spotCollided(Position position) {
+        return spotCollided(position.x, position.y);
+    }
+
+    /**
+     * Checks if an x and y value has collided with the snake's blocks or is out of bounds.
+     * @param x the x value
+     * @param y the y value
+     * @return true if the x and y value collided with the snake's blocks or is out of bounds
+     */
+    private boolean spotCollided(int x, int y) {
+        return spotIsInTails(x, y) || spotIsOutOfBounds(x, y);
+    }
+
+    /**
+     * Checks if a position exists in the snake's blocks.
+     * @param position the position
+     * @return true if the position exists in the snake's blocks
+     */
+    protected boolean spotIsInTails(Position position) {
+        return spotIsInTails(position.x, position.y);
+    }
+
+    /**
+     * Checks if an x and y value exists in the snake's blocks.
+     * @param x the x value
+     * @param y the y value
+     * @return true if the x and y value exists in the snake's blocks
+     */
+    protected boolean spotIsInTails(int x, int y) {
+        return occupancyGrid.hasSnake(id, occupancyGrid.getCell(x, y));
+    }
+
+    /**
+     * Checks if an x and y value is out of bounds.
+     * @param x the x value
+     * @param y the y value
+     * @return true if the x and y value is out of bounds
+     */
+    private boolean spotIsOutOfBounds(int x, int y) {
+        return x < minPosition.x || x > maxPosition.x - 1 || y < minPosition.y || y > maxPosition.y - 1;
+    }
+
+    /**
+     * Moves the snake.
+     */
+    public void move() {
+        if(!inRewind) {
+            // decide now if the world didn't ask for a decision before this move
+            if(isAI && !hasDecided) {
+                decideDirection();
+            }
+
+            // move the blocks first
+            int tail = moveTails();
+
+            // apply the AI direction
+            if(hasDecided) {
+                snakeAI.commitGoalFood();
+                setDirection(decidedDirection);
+
+                hasDecided = false;
+            }
+
+            movedDirection = direction;
+            setHeadPosition(getMovedPosition(direction, position));
+            rewindJournal.record(direction, tail);
+        }
+        else {
+            snakeAI.removeGoalFood();
+
+            // keep rewinding the snake until we can't
+            rewind();
+        }
+    }
+
+    /**
+     * Rewinds the snake and its tails by a move.
+     * @return true if the snake could rewind
+     */
+    @Override
+    public boolean rewind() {
+        if(rewindJournal.isEmpty()) {
+            return false;
+        }
+
+        body.shrink(rewindJournal.getGrowth());
+        body.unmove(rewindJournal.getTail());
+
+        removeHeadFromOccupancyGrid();
+        boolean rewound = super.rewind();
+        addHeadToOccupancyGrid();
+
+        return rewound;
+    }
+
+    /**
+     * Sets the head's position and moves the head in the occupancy grid.
+     * @param position the position
+     */
+    private void setHeadPosition(Position position) {
+        removeHeadFromOccupancyGrid();
+        this.position = position;
+        addHeadToOccupancyGrid();
+    }
+
+    /**
+     * Adds the head to the occupancy grid.
+     */
+    private void addHeadToOccupancyGrid() {
+        if(occupancyGrid != null) {
+            occupancyGrid.addHead(id, occupancyGrid.getCell(position));
+        }
+    }
+
+    /**
+     * Removes the head from the occupancy grid.
+     */
+    private void removeHeadFromOccupancyGrid() {
+        if(occupancyGrid != null) {
+            occupancyGrid.removeHead(id, occupancyGrid.getCell(position));
+        }
+    }
+
+    /**
+     * Moves the snake's tail.
+     * @return the packed position of the popped tail, or a SnakeBody marker if no tail was popped
+     */
+    private int moveTails() {
+        return body.move(position.x, position.y);
+    }
+
+    /**
+     * Gets whether or not this snake is rewinding.
+     * @return true if this snake is rewinding
+     */
+    public boolean isInRewind() {
+        return inRewind;
+    }
+
+    /**
+     * Sets rewind.
+     * @param inRewind what to set inRewind to
+     */
+    public void setRewind(boolean inRewind) {
+        this.inRewind = inRewind;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,423 @@
+package snake;
+
+import java.util.List;
+
+/**
+ * A SnakeAI.
+ */
+public class SnakeAI implements SnakeAIStrategy {
+    public static final int CLOSEST_FOOD = 0, MOST_SNAKE_FREE = 1, STRAIGHT = 2, RANDOM = 3, NO_SAFE_DIRECTION = 4, DO_NOT_TURN = 5;
+    public static final String[] BRANCH_NAMES = {"closest-food", "most-snake-free", "straight", "random", "no-safe-direction", "do-not-turn"};
+    private final int CHANCE_MAX = 100, DO_NOT_TURN_CHANCE = 5, GO_FOR_CLOSEST_FOOD_CHANCE = 75, GO_MOST_SNAKE_FREE_CHANCE = 60, GO_STRAIGHT_CHANCE = 95;
+    private Snake snake;
+    private SnakeRandom random;
+    private boolean previousMoveWasTurn;
+    private int turnsInARow;
+    private Food goalFood, decidedGoalFood;
+    private int decidedClaimVersion, decidedBranch;
+    private final FoodFilter goalFoodFilter;
+
+    /**
+     * Creates a SnakeAI.
+     * @param snake the snake that will use this AI
+     */
+    public SnakeAI(Snake snake) {
+        this.snake = snake;
+
+        random = snake.getRandom();
+        previousMoveWasTurn = false;
+        turnsInARow = 0;
+        goalFood = null;
+        decidedGoalFood = null;
+        decidedBranch = NO_SAFE_DIRECTION;
+
+        goalFoodFilter = new FoodFilter() {
+            @Override
+            public boolean accept(Food food, int squaredDistance) {
+                return isPossibleGoalFood(food, squaredDistance);
+            }
+        };
+    }
+
+    /**
+     * Attaches a random number generator, so the AI's choices can be reproduced from a seed.
+     * @param random the random number generator
+     */
+    public void attachRandom(SnakeRandom random) {
+        this.random = random;
+    }
+
+    /**
+     * Gets the goal food.
+     * @return the goal food
+     */
+    public Food getGoalFood() {
+        return goalFood;
+    }
+
+    /**
+     * Gets the goal food chosen during the last decision, which becomes the goal food once committed.
+     * @return the decided goal food, or null if there is none
+     */
+    public Food getDecidedGoalFood() {
+        return decidedGoalFood;
+    }
+
+    /**
+     * Gets the branch that chose the direction during the last decision, see BRANCH_NAMES.
+     * @return the branch
+     */
+    public int getDecidedBranch() {
+        return decidedBranch;
+    }
+
+    /**
+     * Writes the AI's turn streak and goal food, which decide its next choices together with the snake's random.
+     * NOTE: The goal food is written as its index in the snake's food list.
+     * @param state the state to write to
+     */
+    public void writeState(StateBuffer state) {
+        state.writeBoolean(previousMoveWasTurn);
+        state.writeVarint(turnsInARow);
+        state.writeSignedVarint(goalFood != null ? snake.getFoodList().indexOf(goalFood) : -1);
+    }
+
+    /**
+     * Replaces the AI's state with the one written by writeState and claims its goal food again.
+     * NOTE: The snake's food list must already hold the foods of the state.
+     * @param state the state to read from
+     */
+    public void readState(StateBuffer state) {
+        removeGoalFood();
+
+        previousMoveWasTurn = state.readBoolean();
+        turnsInARow = state.readInt();
+
+        int goalFoodIndex = (int) state.readSignedVarint();
+        if(goalFoodIndex >= 0) {
+            Food food = snake.getFoodList().get(goalFoodIndex);
+            FoodClaimTable foodClaimTable = snake.getFoodClaimTable();
+
+            if(foodClaimTable.claim(snake, food, foodClaimTable.getVersion(food))) {
+                goalFood = food;
+                decidedGoalFood = food;
+            }
+        }
+    }
+
+    /**
+     * Removes the goal food and releases its claim.
+     */
+    public void removeGoalFood() {
+        if(goalFood != null) {
+            snake.getFoodClaimTable().release(snake, goalFood);
+        }
+
+        goalFood = null;
+        decidedGoalFood = null;
+    }
+
+    /**
+     * Removes the goal food if it is the given food, the claim table already knows the food was taken.
+     * @param food the food that was taken
+     */
+    public void removeGoalFood(Food food) {
+        if(goalFood == food) {
+            goalFood = null;
+        }
+
+        if(decidedGoalFood == food) {
+            decidedGoalFood = null;
+        }
+    }
+
+    /**
+     * Commits the goal food chosen during the last decision and takes it from the snake that claimed it.
+     * NOTE: Decisions only read the committed claims so they can run in parallel, a food that was claimed or eaten
+     * after this snake decided on it is lost.
+     */
+    public void commitGoalFood() {
+        if(decidedGoalFood != goalFood) {
+            FoodClaimTable foodClaimTable = snake.getFoodClaimTable();
+
+            if(goalFood != null) {
+                foodClaimTable.release(snake, goalFood);
+            }
+
+            if(decidedGoalFood != null && !foodClaimTable.claim(snake, decidedGoalFood, decidedClaimVersion)) {
+                decidedGoalFood = null;
+            }
+        }
+
+        goalFood = decidedGoalFood;
+    }
+
+    /**
+     * Gets the AI's choice for a direction to go in.
+     * NOTE: The probabilistic behavior is cheap enough to ignore the deadline.
+     * @param deadline the System.nanoTime() value the AI should decide by
+     * @return the AI's choice for the direction to go in
+     */
+    @Override
+    public int getAIDirection(long deadline) {
+        return getAIDirection();
+    }
+
+    /**
+     * Gets the AI's choice for a direction to go in.
+     * @return the AI's choice for the direction to go in
+     */
+    public int getAIDirection() {
+        decidedGoalFood = goalFood;
+
+        int aiDirection = getBestAIDirection();
+        int movedKey = snake.getMovedKey(aiDirection);
+        boolean willEatFood = snake.willEat(Position.unpackX(movedKey), Position.unpackY(movedKey));
+        int multiplier = willEatFood ? 2 : 1;
+
+        // attempt to not turn
+        int doNotTurnChance = random.nextInt(CHANCE_MAX);
+        if(doNotTurnChance < turnsInARow * multiplier * DO_NOT_TURN_CHANCE && !snake.spotWillCollide(snake.direction)) {
+            if(aiDirection != snake.direction) {
+                decidedBranch = DO_NOT_TURN;
+            }
+
+            aiDirection = snake.direction;
+        }
+
+        // set chance of not turning
+        previousMoveWasTurn= aiDirection != snake.direction;
+        if(previousMoveWasTurn) {
+            turnsInARow++;
+        }
+        else {
+            if(turnsInARow > 0) {
+                turnsInARow--;
+            }
+        }
+
+        return aiDirection;
+    }
+
+    /**
+     * Gets the AI's best choice for a direction to go in.
+     * @return the AI's best choice for the direction to go in
+     */
+    private int getBestAIDirection() {
+        // attempt to go in closest food direction
+        int goForClosestFoodChance = random.nextInt(CHANCE_MAX);
+        if(goForClosestFoodChance < GO_FOR_CLOSEST_FOOD_CHANCE) {
+            int closetFoodDirection = getClosestFoodDirection();
+
+            if(snake.isLegalDirectionChange(closetFoodDirection) && !snake.spotWillCollide(closetFoodDirection)) {
+                decidedBranch = CLOSEST_FOOD;
+
+                return closetFoodDirection;
+            }
+        }
+
+        // attempt to get the direction most free of snakes
+        int goMostSnakeFreeChance = random.nextInt(CHANCE_MAX);
+        if(goMostSnakeFreeChance < GO_MOST_SNAKE_FREE_CHANCE) {
+            int mostSnakeFreeDirection = getMostSnakeFreeDirection();
+
+            if(snake.isLegalDirectionChange(mostSnakeFreeDirection) && !snake.spotWillCollide(mostSnakeFreeDirection)) {
+                decidedBranch = MOST_SNAKE_FREE;
+
+                return mostSnakeFreeDirection;
+            }
+        }
+
+        // attempt to go in straight direction
+        int goStraightChance = random.nextInt(CHANCE_MAX);
+        if(goStraightChance < GO_STRAIGHT_CHANCE) {
+            if(!snake.spotWillCollide(snake.direction)) {
+                decidedBranch = STRAIGHT;
+
+                return snake.direction;
+            }
+        }
+
+        // attempt to go in a random direction
+        int randomDirection = getRandomDirection();
+        if(snake.isLegalDirectionChange(randomDirection) && !snake.spotWillCollide(randomDirection)) {
+            decidedBranch = RANDOM;
+
+            return randomDirection;
+        }
+
+        decidedBranch = NO_SAFE_DIRECTION;
+
+        return snake.direction;
+    }
+
+    /**
+     * Gets the closest food direction.
+     * @return the closest food direction
+     */
+    private int getClosestFoodDirection() {
+        Food closestFood = null;
+        if(decidedGoalFood == null) {
+            FoodIndex foodIndex = snake.getFoodIndex();
+            if(foodIndex != null) {
+                closestFood = foodIndex.getClosestFood(snake.position.x, snake.position.y, goalFoodFilter);
+            }
+            else {
+                int smallestDistance = Integer.MAX_VALUE;
+                List<Food> foodList = snake.getFoodList();
+                for(int i = 0; i < foodList.size(); i++) {
+                    Food food = foodList.get(i);
+
+                    int distance = food.position.getSquaredDistance(snake.position.x, snake.position.y);
+                    if(distance < smallestDistance && isPossibleGoalFood(food, distance)) {
+                        smallestDistance = distance;
+
+                        closestFood = food;
+                    }
+                }
+            }
+
+            decidedGoalFood = closestFood;
+            if(closestFood != null) {
+                decidedClaimVersion = snake.getFoodClaimTable().getVersion(closestFood);
+            }
+        }
+        else {
+            closestFood = decidedGoalFood;
+        }
+
+        // if we found a closest food
+        int closetFoodDirection = -1;
+        if(closestFood != null) {
+            if(snake.position.y > closestFood.position.y && snake.isLegalDirectionChange(Snake.UP) && !snake.spotWillCollide(Snake.UP)) {
+                closetFoodDirection = Snake.UP;
+            }
+            else if(snake.position.y < closestFood.position.y && snake.isLegalDirectionChange(Snake.DOWN) && !snake.spotWillCollide(Snake.DOWN)) {
+                closetFoodDirection = Snake.DOWN;
+            }
+            else if(snake.position.x > closestFood.position.x && snake.isLegalDirectionChange(Snake.LEFT) && !snake.spotWillCollide(Snake.LEFT)) {
+                closetFoodDirection = Snake.LEFT;
+            }
+            else if(snake.position.x < closestFood.position.x && snake.isLegalDirectionChange(Snake.RIGHT) && !snake.spotWillCollide(Snake.RIGHT)) {
+                closetFoodDirection = Snake.RIGHT;
+            }
+        }
+
+        return closetFoodDirection;
+    }
+
+    /**
+     * Checks if a food can become the goal food.
+     * @param food the food
+     * @param squaredDistance the squared distance from the snake to the food
+     * @return true if the food is not inside the snake and no closer snake has it as its goal food
+     */
+    private boolean isPossibleGoalFood(Food food, int squaredDistance) {
+        // make sure the food is not inside myself
+        if(snake.spotIsInTails(food.position)) {
+            return false;
+        }
+
+        // check out the snake that has it as its goal food and see if we are closer, the other guy loses it once my goal is committed
+        Snake claimant = snake.getFoodClaimTable().getClaimant(food);
+
+        return claimant == null || claimant == snake ||
+                squaredDistance <= food.position.getSquaredDistance(claimant.position.x, claimant.position.y);
+    }
+
+    /**
+     * Gets a random direction.
+     * @return the random direction
+     */
+    private int getRandomDirection() {
+        int tries = 8;
+        while(tries > 0) {
+            int randomDirection = random.nextInt(Snake.RIGHT + 1);
+
+            if(snake.isLegalDirectionChange(randomDirection) && !snake.spotWillCollide(randomDirection)) {
+                return randomDirection;
+            }
+
+            tries--;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Gest the most snake free direction.
+     * NOTE: Every alive snake used to vote with the same count of this snake's own tails, so the count is done once
+     * and the vote is skipped, keeping the decision O(tails) instead of O(snakes * tails).
+     * @return the most snake free direction
+     */
+    private int getMostSnakeFreeDirection() {
+        int freeSpotsAbove = snake.maxPosition.y;
+        int freeSpotsBelow = snake.maxPosition.y;
+        int freeSpotsOnLeft = snake.maxPosition.x;
+        int freeSpotsOnRight = snake.maxPosition.x;
+
+        SnakeBody body = snake.getBody();
+        for(int i = 0; i < body.getLength(); i++) {
+            int tailX = body.getX(i);
+            int tailY = body.getY(i);
+
+            // same column
+            if(snake.position.x == tailX) {
+                if(snake.position.y < tailY) {
+                    freeSpotsAbove--;
+                }
+                else if(snake.position.y > tailY) {
+                    freeSpotsBelow--;
+                }
+            }
+
+            // same row
+            if(snake.position.y == tailY) {
+                if(snake.position.x > tailX) {
+                    freeSpotsOnLeft--;
+                }
+                else if(snake.position.x < tailX) {
+                    freeSpotsOnRight--;
+                }
+            }
+        }
+
+        if(isLargestOf(freeSpotsAbove, freeSpotsBelow, freeSpotsOnLeft, freeSpotsOnRight) &&
+                snake.isLegalDirectionChange(Snake.UP) && !snake.spotWillCollide(Snake.UP)) {
+            return Snake.UP;
+        }
+        else if(isLargestOf(freeSpotsBelow, freeSpotsAbove, freeSpotsOnLeft, freeSpotsOnRight) &&
+                snake.isLegalDirectionChange(Snake.DOWN) && !snake.spotWillCollide(Snake.DOWN)) {
+            return Snake.DOWN;
+        }
+        else if(isLargestOf(freeSpotsOnLeft, freeSpotsAbove, freeSpotsBelow, freeSpotsOnRight) &&
+                snake.isLegalDirectionChange(Snake.LEFT) && !snake.spotWillCollide(Snake.LEFT)) {
+            return Snake.LEFT;
+        }
+        else if(isLargestOf(freeSpotsOnRight, freeSpotsAbove, freeSpotsBelow, freeSpotsOnLeft) &&
+                snake.isLegalDirectionChange(Snake.RIGHT) && !snake.spotWillCollide(Snake.RIGHT)) {
+            return Snake.RIGHT;
+        }
+
+        // no side is the most free, take the first open direction
+        for(int direction = Snake.UP; direction <= Snake.RIGHT; direction++) {
+            if(snake.isLegalDirectionChange(direction) && !snake.spotWillCollide(direction)) {
+                return direction;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Tests if a number is the largest of a set.
+     * @param toTest the number to test
+     * @param a a number to test against
+     * @param b a number to test against
+     * @param c a number to test against
+     * @return true is the number is the largest of the set
+     */
+    private boolean isLargestOf(int toTest, int a, int b, int c) {
+        return toTest >= a && toTest >= b && toTest >= c;
+    }
+}
@@ -0,0 +1,13 @@
+package snake;
+
+/**
+ * A factory that creates an AI strategy for a snake.
+ */
+public interface SnakeAIFactory {
+    /**
+     * Creates an AI strategy.
+     * @param snake the snake that will use the strategy
+     * @return the strategy
+     */
+    SnakeAIStrategy create(Snake snake);
+}
@@ -0,0 +1,106 @@
+package snake;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A registry of named AI strategies that can be assigned to snakes.
+ */
+public class SnakeAIRegistry {
+    public static final String PROBABILISTIC = "probabilistic", PATHFINDING = "pathfinding", ROLLOUT = "rollout";
+    private static final Map<String, SnakeAIFactory> factoryMap = new LinkedHashMap<>();
+    private static final List<String> nameList = new ArrayList<>();
+
+    static {
+        register(PROBABILISTIC, new SnakeAIFactory() {
+            @Override
+            public SnakeAIStrategy create(Snake snake) {
+                return new SnakeAI(snake);
+            }
+        });
+
+        register(PATHFINDING, new SnakeAIFactory() {
+            @Override
+            public SnakeAIStrategy create(Snake snake) {
+                return new PathfindingSnakeAI(snake);
+            }
+        });
+
+        register(ROLLOUT, new SnakeAIFactory() {
+            @Override
+            public SnakeAIStrategy create(Snake snake) {
+                return new RolloutSnakeAI(snake);
+            }
+        });
+    }
+
+    private SnakeAIRegistry() {
+    }
+
+    /**
+     * Registers an AI strategy, replacing any strategy with the same name.
+     * @param name the strategy's name
+     * @param factory the factory creating the strategy for a snake
+     */
+    public static synchronized void register(String name, SnakeAIFactory factory) {
+        if(factoryMap.put(name, factory) == null) {
+            nameList.add(name);
+        }
+    }
+
+    /**
+     * Creates a registered AI strategy for a snake.
+     * @param name the strategy's name
+     * @param snake the snake that will use the strategy
+     * @return the strategy
+     * @throws IllegalArgumentException if no strategy is registered with the given name
+     */
+    public static synchronized SnakeAIStrategy create(String name, Snake snake) {
+        SnakeAIFactory factory = factoryMap.get(name);
+        if(factory == null) {
+            throw new IllegalArgumentException("Unknown AI strategy: " + name);
+        }
+
+        return factory.create(snake);
+    }
+
+    /**
+     * Gets the names of the registered strategies in registration order.
+     * @return the names
+     */
+    public static synchronized List<String> getNames() {
+        return new ArrayList<>(nameList);
+    }
+
+    /**
+     * Gets the index of a registered strategy's name in registration order.
+     * NOTE: A replaced strategy keeps its index, so the index of a name never changes.
+     * @param name the strategy's name
+     * @return the index
+     * @throws IllegalArgumentException if no strategy is registered with the given name
+     */
+    public static synchronized int indexOf(String name) {
+        int index = nameList.indexOf(name);
+        if(index < 0) {
+            throw new IllegalArgumentException("Unknown AI strategy: " + name);
+        }
+
+        return index;
+    }
+
+    /**
+     * Gets the name of a registered strategy by its index in registration order.
+     * @param index the index
+     * @return the strategy's name
+     * @throws IllegalArgumentException if no strategy is registered with the given index
+     */
+    public static synchronized String getName(int index) {
+        if(index < 0 || index >= nameList.size()) {
+            throw new IllegalArgumentException("Unknown AI strategy index: " + index);
+        }
+
+        return nameList.get(index);
+    }
+}
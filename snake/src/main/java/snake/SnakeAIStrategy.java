@@ -0,0 +1,22 @@
+package snake;
+
+/**
+ * A strategy that decides which direction an AI snake goes in.
+ * NOTE: Strategies are created for a single snake and must only read the world while deciding.
+ */
+public interface SnakeAIStrategy {
+    int NO_DIRECTION = -1;
+
+    /**
+     * Gets the strategy's choice for the direction to go in.
+     * @param deadline the System.nanoTime() value the strategy should decide by
+     * @return the direction, or NO_DIRECTION if the strategy could not decide
+     */
+    int getAIDirection(long deadline);
+
+    /**
+     * Releases what the strategy holds on to, called once the snake switched to another strategy.
+     */
+    default void release() {
+    }
+}
@@ -0,0 +1,300 @@
+package snake;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A batch runner that plays many independent headless games in parallel and reports how the AI snakes did.
+ * Every worker plays whole games on worlds of its own and sums its results privately, so the workers share nothing
+ * but the counter handing out games and the results are only merged once every game is played.
+ * NOTE: The parameters are given as key=value pairs, for example:
+ * games=10000 ticks=5000 width=64 height=64 snakes=4 foods=8 teleporters=4 seed=42 threads=8 strategy=pathfinding metrics=true.
+ * Every game plays until every snake died or the tick cap, with respawn on death turned off and every snake an AI.
+ * With metrics=true the phases of the ticks are timed, see SnakeMetrics, and their latencies are printed after the results.
+ */
+public class SnakeBatchRunner {
+    public static final int WALL = 0, TAIL = 1, CAUSE_AMOUNT = 2;
+    public static final String[] CAUSE_NAMES = {"wall", "tail"};
+    private int games, width, height, snakeAmount, foodAmount, teleporterAmount, threads;
+    private long ticks, seed;
+    private String strategy;
+    private boolean metrics;
+
+    /**
+     * Creates a batch runner from command line arguments.
+     * @param args the arguments, key=value pairs
+     * @throws IllegalArgumentException if an argument is not a known key=value pair
+     */
+    public SnakeBatchRunner(String[] args) {
+        games = 1000;
+        ticks = 10000;
+        width = 64;
+        height = 64;
+        snakeAmount = SnakeWorld.DEFAULT_SNAKE_AMOUNT;
+        foodAmount = SnakeWorld.DEFAULT_FOOD_AMOUNT;
+        teleporterAmount = SnakeWorld.DEFAULT_TELEPORTER_AMOUNT;
+        seed = SnakeRandom.nextSeed();
+        threads = Runtime.getRuntime().availableProcessors();
+        strategy = null;
+        metrics = false;
+
+        for(String arg : args) {
+            int separator = arg.indexOf('=');
+            if(separator < 0) {
+                throw new IllegalArgumentException("Argument " + arg + " is not a key=value pair");
+            }
+
+            String key = arg.substring(0, separator);
+            String value = arg.substring(separator + 1);
+            switch(key) {
+                case "games":
+                    games = Integer.parseInt(value);
+                    break;
+                case "ticks":
+                    ticks = Long.parseLong(value);
+                    break;
+                case "width":
+                    width = Integer.parseInt(value);
+                    break;
+                case "height":
+                    height = Integer.parseInt(value);
+                    break;
+                case "snakes":
+                    snakeAmount = Integer.parseInt(value);
+                    break;
+                case "foods":
+                    foodAmount = Integer.parseInt(value);
+                    break;
+                case "teleporters":
+                    teleporterAmount = Integer.parseInt(value);
+                    break;
+                case "seed":
+                    seed = Long.parseLong(value);
+                    break;
+                case "threads":
+                    threads = Math.max(Integer.parseInt(value), 1);
+                    break;
+                case "strategy":
+                    strategy = value;
+                    break;
+                case "metrics":
+                    metrics = Boolean.parseBoolean(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown argument " + key);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        SnakeBatchRunner batchRunner = new SnakeBatchRunner(args);
+        batchRunner.run().print();
+
+        if(batchRunner.metrics) {
+            System.out.print(SnakeMetrics.getInstance().dump());
+        }
+    }
+
+    /**
+     * Plays every game and merges the workers' results.
+     * @return the results
+     * @throws InterruptedException if interrupted while waiting for the workers
+     * @throws ExecutionException if a game failed
+     */
+    public BatchResult run() throws InterruptedException, ExecutionException {
+        // derive the games' seeds up front so a game is the same no matter which worker plays it
+        final long[] gameSeeds = new long[games];
+        SnakeRandom random = new SnakeRandom(seed);
+        for(int i = 0; i < games; i++) {
+            gameSeeds[i] = random.nextLong();
+        }
+
+        if(metrics) {
+            SnakeMetrics.register();
+            SnakeMetrics.getInstance().setEnabled(true);
+        }
+
+        final AtomicInteger nextGame = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<BatchResult>> futureList = new ArrayList<>(threads);
+
+        long start = System.nanoTime();
+        try {
+            for(int i = 0; i < threads; i++) {
+                futureList.add(executor.submit(new Callable<BatchResult>() {
+                    @Override
+                    public BatchResult call() {
+                        // the result is created on the worker so it isn't next to another worker's in memory
+                        BatchResult result = new BatchResult(snakeAmount);
+
+                        int game;
+                        while((game = nextGame.getAndIncrement()) < games) {
+                            play(gameSeeds[game], result);
+                        }
+
+                        return result;
+                    }
+                }));
+            }
+
+            BatchResult result = new BatchResult(snakeAmount);
+            for(Future<BatchResult> future : futureList) {
+                result.merge(future.get());
+            }
+
+            result.time = System.nanoTime() - start;
+
+            return result;
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Plays a game and adds how every snake did to a result.
+     * @param gameSeed the game's seed
+     * @param result the result
+     */
+    private void play(long gameSeed, BatchResult result) {
+        SnakeWorld world = new SnakeWorld(width, height, snakeAmount, foodAmount, teleporterAmount, gameSeed);
+
+        // the AI never falls back on its time budget, so a game only depends on its seed
+        world.setAIBudget(Long.MAX_VALUE);
+        if(strategy != null) {
+            world.setAIStrategy(strategy);
+        }
+
+        List<Snake> snakeList = world.getSnakeList();
+        for(Snake snake : snakeList) {
+            if(!snake.isAI()) {
+                snake.toggleAIStatus();
+            }
+        }
+
+        OccupancyGrid occupancyGrid = world.getOccupancyGrid();
+        int[] maxLengths = new int[snakeAmount];
+        long[] deathTicks = new long[snakeAmount];
+        int aliveAmount = snakeAmount;
+
+        while(aliveAmount > 0 && world.getTick() < ticks) {
+            world.step();
+
+            for(int i = 0; i < snakeAmount; i++) {
+                if(deathTicks[i] != 0) {
+                    continue;
+                }
+
+                Snake snake = snakeList.get(i);
+                maxLengths[i] = Math.max(maxLengths[i], snake.getBody().getLength());
+
+                // snakes only die by leaving the board or running into their own tails
+                if(snake.isDead()) {
+                    deathTicks[i] = world.getTick();
+                    int cause = occupancyGrid.getCell(snake.position) == OccupancyGrid.OUT_OF_BOUNDS ? WALL : TAIL;
+                    result.deaths[i][cause]++;
+                    result.deathTicks[i] += world.getTick();
+                    aliveAmount--;
+                }
+            }
+        }
+
+        for(int i = 0; i < snakeAmount; i++) {
+            result.foodEaten[i] += snakeList.get(i).getFoodEaten();
+            result.maxLengthSums[i] += maxLengths[i];
+            result.maxLengths[i] = Math.max(result.maxLengths[i], maxLengths[i]);
+        }
+
+        result.games++;
+        result.ticks += world.getTick();
+    }
+
+    /**
+     * The summed results of a batch of games, per snake index.
+     */
+    public static class BatchResult {
+        private long games, ticks, time;
+        private long[] foodEaten, maxLengthSums, deathTicks;
+        private int[] maxLengths;
+        private long[][] deaths;
+
+        /**
+         * Creates an empty result.
+         * @param snakeAmount the amount of snakes per game
+         */
+        public BatchResult(int snakeAmount) {
+            games = 0;
+            ticks = 0;
+            time = 0;
+            foodEaten = new long[snakeAmount];
+            maxLengthSums = new long[snakeAmount];
+            deathTicks = new long[snakeAmount];
+            maxLengths = new int[snakeAmount];
+            deaths = new long[snakeAmount][CAUSE_AMOUNT];
+        }
+
+        /**
+         * Adds another result to this one.
+         * @param result the other result
+         */
+        public void merge(BatchResult result) {
+            games += result.games;
+            ticks += result.ticks;
+
+            for(int i = 0; i < foodEaten.length; i++) {
+                foodEaten[i] += result.foodEaten[i];
+                maxLengthSums[i] += result.maxLengthSums[i];
+                deathTicks[i] += result.deathTicks[i];
+                maxLengths[i] = Math.max(maxLengths[i], result.maxLengths[i]);
+
+                for(int cause = 0; cause < CAUSE_AMOUNT; cause++) {
+                    deaths[i][cause] += result.deaths[i][cause];
+                }
+            }
+        }
+
+        /**
+         * Gets the amount of games played.
+         * @return the amount of games
+         */
+        public long getGames() {
+            return games;
+        }
+
+        /**
+         * Gets the amount of games played per second.
+         * @return the games per second
+         */
+        public double getGamesPerSecond() {
+            return time > 0 ? games * 1e9 / time : 0;
+        }
+
+        /**
+         * Prints a summary of the results.
+         */
+        public void print() {
+            double seconds = time / 1e9;
+            System.out.printf("games %d in %.2f s, %.1f games/s, %.0f ticks/s, %.1f ticks/game%n", games, seconds,
+                    getGamesPerSecond(), seconds > 0 ? ticks / seconds : 0, games > 0 ? (double) ticks / games : 0);
+            System.out.printf("%-6s %12s %14s %10s %10s %14s %10s %10s%n", "snake", "food/game", "max len/game", "max len",
+                    "deaths", "death tick", CAUSE_NAMES[WALL], CAUSE_NAMES[TAIL]);
+
+            for(int i = 0; i < foodEaten.length; i++) {
+                long deathAmount = 0;
+                for(int cause = 0; cause < CAUSE_AMOUNT; cause++) {
+                    deathAmount += deaths[i][cause];
+                }
+
+                System.out.printf("%-6d %12.2f %14.2f %10d %10d %14.1f %10d %10d%n", i, (double) foodEaten[i] / Math.max(games, 1),
+                        (double) maxLengthSums[i] / Math.max(games, 1), maxLengths[i], deathAmount,
+                        deathAmount > 0 ? (double) deathTicks[i] / deathAmount : 0, deaths[i][WALL], deaths[i][TAIL]);
+            }
+        }
+    }
+}
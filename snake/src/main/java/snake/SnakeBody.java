@@ -0,0 +1,297 @@
+package snake;
+
+/**
+ * A snake body that stores the snake's tails in a circular buffer of packed positions.
+ * NOTE: The first tail is the one right behind the head, tails that are still growing in are not stored.
+ */
+public class SnakeBody {
+    public static final int NO_CELL = Integer.MIN_VALUE, EMPTY_MOVE = Integer.MIN_VALUE + 1, ABSOLUTE_CELL = Block.DIRECTION_AMOUNT;
+    private static final int INITIAL_CAPACITY = 16;
+    private int[] cells;
+    private int first, length, pendingGrowth;
+    private OccupancyGrid occupancyGrid;
+    private int owner;
+
+    /**
+     * Creates an empty snake body.
+     */
+    public SnakeBody() {
+        cells = new int[INITIAL_CAPACITY];
+        first = 0;
+        length = 0;
+        pendingGrowth = 0;
+    }
+
+    /**
+     * Attaches an occupancy grid that tracks the body's tails.
+     * @param occupancyGrid the occupancy grid
+     * @param owner the id of the snake owning this body
+     */
+    public void attachOccupancyGrid(OccupancyGrid occupancyGrid, int owner) {
+        this.occupancyGrid = occupancyGrid;
+        this.owner = owner;
+    }
+
+    /**
+     * Moves the body so its first tail takes the head's position.
+     * The last tail is popped unless the body is still growing.
+     * @param headX the x value of the head before it moves
+     * @param headY the y value of the head before it moves
+     * @return the packed position of the popped tail, NO_CELL if the body grew or EMPTY_MOVE if the body was empty
+     */
+    public int move(int headX, int headY) {
+        if(size() == 0) {
+            return EMPTY_MOVE;
+        }
+
+        ensureCapacity(length + 1);
+        first = (first - 1) & (cells.length - 1);
+        cells[first] = Position.pack(headX, headY);
+        length++;
+        addToOccupancyGrid(cells[first]);
+
+        if(pendingGrowth > 0) {
+            pendingGrowth--;
+
+            return NO_CELL;
+        }
+
+        return removeLast();
+    }
+
+    /**
+     * Undoes a move so the first tail goes back into the head.
+     * @param popped the value returned by the move being undone
+     */
+    public void unmove(int popped) {
+        if(popped == EMPTY_MOVE || length == 0) {
+            return;
+        }
+
+        removeFromOccupancyGrid(cells[first]);
+        first = (first + 1) & (cells.length - 1);
+        length--;
+
+        if(popped == NO_CELL) {
+            pendingGrowth++;
+        }
+        else {
+            ensureCapacity(length + 1);
+            cells[(first + length) & (cells.length - 1)] = popped;
+            length++;
+            addToOccupancyGrid(popped);
+        }
+    }
+
+    /**
+     * Grows the body by the given amount of tails, one per move.
+     * @param amount the amount of tails
+     */
+    public void grow(int amount) {
+        pendingGrowth += amount;
+    }
+
+    /**
+     * Undoes growth that has not grown in yet.
+     * @param amount the amount of tails
+     */
+    public void shrink(int amount) {
+        pendingGrowth = Math.max(pendingGrowth - amount, 0);
+    }
+
+    /**
+     * Removes every tail.
+     */
+    public void clear() {
+        while(length > 0) {
+            removeLast();
+        }
+
+        first = 0;
+        pendingGrowth = 0;
+    }
+
+    /**
+     * Gets the amount of tails including the ones that are still growing in.
+     * @return the amount of tails
+     */
+    public int size() {
+        return length + pendingGrowth;
+    }
+
+    /**
+     * Gets the amount of tails on the board.
+     * @return the amount of tails on the board
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Checks if the body still has tails to grow in, in which case its next move won't pop the last tail.
+     * @return true if the body is growing
+     */
+    public boolean isGrowing() {
+        return pendingGrowth > 0;
+    }
+
+    /**
+     * Gets the last tail's packed position.
+     * @return the packed position, or NO_CELL if the body has no tails on the board
+     */
+    public int getLast() {
+        return length == 0 ? NO_CELL : get(length - 1);
+    }
+
+    /**
+     * Gets a tail's packed position.
+     * @param index the tail's index, 0 being the tail right behind the head
+     * @return the packed position
+     */
+    public int get(int index) {
+        return cells[(first + index) & (cells.length - 1)];
+    }
+
+    /**
+     * Gets a tail's x value.
+     * @param index the tail's index, 0 being the tail right behind the head
+     * @return the x value
+     */
+    public int getX(int index) {
+        return Position.unpackX(get(index));
+    }
+
+    /**
+     * Gets a tail's y value.
+     * @param index the tail's index, 0 being the tail right behind the head
+     * @return the y value
+     */
+    public int getY(int index) {
+        return Position.unpackY(get(index));
+    }
+
+    /**
+     * Writes the tails and the growth that has not grown in yet.
+     * Every tail is written as the direction from the tail before it, or as its x and y value if it's not adjacent.
+     * @param state the state to write to
+     */
+    public void writeState(StateBuffer state) {
+        state.writeVarint(length);
+        state.writeVarint(pendingGrowth);
+
+        int previous = NO_CELL;
+        for(int i = 0; i < length; i++) {
+            int cell = get(i);
+            int step = getStep(previous, cell);
+
+            state.writeByte(step);
+            if(step == ABSOLUTE_CELL) {
+                state.writeSignedVarint(Position.unpackX(cell));
+                state.writeSignedVarint(Position.unpackY(cell));
+            }
+
+            previous = cell;
+        }
+    }
+
+    /**
+     * Replaces the tails and the growth with the ones written by writeState.
+     * @param state the state to read from
+     */
+    public void readState(StateBuffer state) {
+        clear();
+
+        int amount = state.readInt();
+        pendingGrowth = state.readInt();
+
+        int previous = NO_CELL;
+        for(int i = 0; i < amount; i++) {
+            int step = state.readByte();
+            int cell;
+            if(step == ABSOLUTE_CELL) {
+                cell = Position.pack((int) state.readSignedVarint(), (int) state.readSignedVarint());
+            }
+            else {
+                cell = MoveableBlock.getMovedKey(step, previous);
+            }
+
+            ensureCapacity(length + 1);
+            cells[(first + length) & (cells.length - 1)] = cell;
+            length++;
+            addToOccupancyGrid(cell);
+
+            previous = cell;
+        }
+    }
+
+    /**
+     * Gets the direction that leads from a tail to the next tail.
+     * @param previous the packed position of the tail before, or NO_CELL if there is none
+     * @param cell the packed position of the tail
+     * @return the direction, or ABSOLUTE_CELL if the tails are not adjacent
+     */
+    public static int getStep(int previous, int cell) {
+        if(previous == NO_CELL || previous == EMPTY_MOVE || cell == NO_CELL || cell == EMPTY_MOVE) {
+            return ABSOLUTE_CELL;
+        }
+
+        for(int direction = 0; direction < Block.DIRECTION_AMOUNT; direction++) {
+            if(MoveableBlock.getMovedKey(direction, previous) == cell) {
+                return direction;
+            }
+        }
+
+        return ABSOLUTE_CELL;
+    }
+
+    /**
+     * Removes the last tail.
+     * @return the last tail's packed position
+     */
+    private int removeLast() {
+        length--;
+        int last = cells[(first + length) & (cells.length - 1)];
+        removeFromOccupancyGrid(last);
+
+        return last;
+    }
+
+    /**
+     * Ensures the circular buffer can hold the given amount of tails.
+     * @param capacity the amount of tails
+     */
+    private void ensureCapacity(int capacity) {
+        if(capacity <= cells.length) {
+            return;
+        }
+
+        // unroll the buffer into a new one twice the size
+        int[] newCells = new int[cells.length * 2];
+        for(int i = 0; i < length; i++) {
+            newCells[i] = get(i);
+        }
+
+        cells = newCells;
+        first = 0;
+    }
+
+    /**
+     * Adds a tail to the occupancy grid.
+     * @param cell the tail's packed position
+     */
+    private void addToOccupancyGrid(int cell) {
+        if(occupancyGrid != null) {
+            occupancyGrid.addSnake(owner, occupancyGrid.getCell(Position.unpackX(cell), Position.unpackY(cell)));
+        }
+    }
+
+    /**
+     * Removes a tail from the occupancy grid.
+     * @param cell the tail's packed position
+     */
+    private void removeFromOccupancyGrid(int cell) {
+        if(occupancyGrid != null) {
+            occupancyGrid.removeSnake(owner, occupancyGrid.getCell(Position.unpackX(cell), Position.unpackY(cell)));
+        }
+    }
+}
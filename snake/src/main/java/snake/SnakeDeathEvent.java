@@ -0,0 +1,48 @@
+package snake;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A flight recorder event for a snake dying.
+ */
+@Name("snake.Death")
+@Label("Death")
+@Category("Snake")
+@Description("A snake running into a wall or its own tails")
+@StackTrace(false)
+public class SnakeDeathEvent extends Event {
+    private static final SnakeDeathEvent PROBE = new SnakeDeathEvent();
+
+    @Label("Snake")
+    int snake;
+
+    @Label("Cause")
+    @Description("What the snake ran into, wall or tail")
+    String cause;
+
+    @Label("X")
+    int x;
+
+    @Label("Y")
+    int y;
+
+    @Label("Length")
+    @Description("The amount of tails the snake had")
+    int length;
+
+    @Label("Food Eaten")
+    int foodEaten;
+
+    /**
+     * Checks if a recording has the event enabled, without creating an event.
+     * @return true if the event is recorded
+     */
+    public static boolean isRecorded() {
+        return PROBE.isEnabled();
+    }
+}
@@ -0,0 +1,55 @@
+package snake;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A flight recorder event for an AI snake deciding its direction.
+ */
+@Name("snake.Decision")
+@Label("AI Decision")
+@Category("Snake")
+@Description("An AI snake deciding its direction")
+@StackTrace(false)
+public class SnakeDecisionEvent extends Event {
+    private static final SnakeDecisionEvent PROBE = new SnakeDecisionEvent();
+
+    @Label("Snake")
+    int snake;
+
+    @Label("Strategy")
+    @Description("The name of the snake's AI strategy")
+    String strategy;
+
+    @Label("Branch")
+    @Description("The branch of the probabilistic AI that chose the direction, or the strategy's name if it decided")
+    String branch;
+
+    @Label("Fallback")
+    @Description("True if the strategy overran its budget or couldn't decide and the probabilistic AI decided")
+    boolean fallback;
+
+    @Label("Direction")
+    String direction;
+
+    @Label("Has Goal Food")
+    boolean hasGoalFood;
+
+    @Label("Goal Food X")
+    int goalFoodX;
+
+    @Label("Goal Food Y")
+    int goalFoodY;
+
+    /**
+     * Checks if a recording has the event enabled, without creating an event.
+     * @return true if the event is recorded
+     */
+    public static boolean isRecorded() {
+        return PROBE.isEnabled();
+    }
+}
@@ -0,0 +1,91 @@
+package snake;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * A frame.
+ * NOTE: The world can be configured with the arguments: [record file] width height [snakes] [foods] [teleporters] [seed],
+ * or a replay can be played with the arguments: replay file.
+ */
+public class SnakeFrame {
+    public static void main(String[] args) throws IOException {
+        String recordFile = null;
+        if(args.length >= 2 && args[0].equals("record")) {
+            recordFile = args[1];
+            args = Arrays.copyOfRange(args, 2, args.length);
+        }
+
+        final SnakePanel panel;
+        final ReplayRecorder replayRecorder;
+        if(args.length >= 2 && args[0].equals("replay")) {
+            panel = new SnakePanel(new ReplayPlayer(Paths.get(args[1])));
+            replayRecorder = null;
+        }
+        else {
+            SnakeWorld world;
+            if(args.length >= 2) {
+                int width = Integer.parseInt(args[0]);
+                int height = Integer.parseInt(args[1]);
+                int snakeAmount = args.length > 2 ? Integer.parseInt(args[2]) : SnakeWorld.DEFAULT_SNAKE_AMOUNT;
+                int foodAmount = args.length > 3 ? Integer.parseInt(args[3]) : SnakeWorld.DEFAULT_FOOD_AMOUNT;
+                int teleporterAmount = args.length > 4 ? Integer.parseInt(args[4]) : SnakeWorld.DEFAULT_TELEPORTER_AMOUNT;
+                long seed = args.length > 5 ? Long.parseLong(args[5]) : SnakeRandom.nextSeed();
+
+                world = new SnakeWorld(width, height, snakeAmount, foodAmount, teleporterAmount, seed);
+                world.setParallelAI(true);
+            }
+            else {
+                world = new SnakeWorld(new Position(0, 0), new Position(62 * 2, 34 * 2));
+            }
+
+            replayRecorder = recordFile != null ? new ReplayRecorder(world, Paths.get(recordFile)) : null;
+            panel = new SnakePanel(world);
+        }
+
+        JFrame frame = new JFrame("Snake 2015-10-11");
+        frame.setSize(1280, 720);
+        frame.setLocationRelativeTo(null);
+        frame.setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
+
+        frame.add(panel);
+
+        // finish the replay when the frame closes, after the game loop stopped stepping the world
+        if(replayRecorder != null) {
+            frame.addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowClosing(WindowEvent e) {
+                    panel.getGameLoop().stop();
+
+                    try {
+                        replayRecorder.close();
+                    }
+                    catch(IOException exception) {
+                        exception.printStackTrace();
+                    }
+                }
+            });
+        }
+
+        // add frame icon
+        Toolkit toolkit = Toolkit.getDefaultToolkit();
+        URL url = SnakeFrame.class.getResource("Snake.png");
+        if(url != null) {
+            Image image = toolkit.getImage(url);
+            if(image != null) {
+                frame.setIconImage(image);
+            }
+        }
+
+        // the tick and paint latencies can be watched and dumped over JMX
+        SnakeMetrics.register();
+
+        frame.setVisible(true);
+    }
+}
\ No newline at end of file
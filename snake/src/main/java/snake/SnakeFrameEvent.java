@@ -0,0 +1,46 @@
+package snake;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A flight recorder event for a frame painted by a snake panel.
+ */
+@Name("snake.Frame")
+@Label("Frame")
+@Category("Snake")
+@Description("A frame painted by a snake panel")
+@StackTrace(false)
+public class SnakeFrameEvent extends Event {
+    private static final SnakeFrameEvent PROBE = new SnakeFrameEvent();
+
+    @Label("Tick")
+    @Description("The tick of the world the frame shows")
+    long tick;
+
+    @Label("Width")
+    int width;
+
+    @Label("Height")
+    int height;
+
+    @Label("Dirty Cells")
+    @Description("The amount of cells redrawn into the world image, or -1 if it was redrawn whole")
+    int dirtyCellAmount;
+
+    @Label("Alpha")
+    @Description("How far the game was into the next tick")
+    double alpha;
+
+    /**
+     * Checks if a recording has the event enabled, without creating an event.
+     * @return true if the event is recorded
+     */
+    public static boolean isRecorded() {
+        return PROBE.isEnabled();
+    }
+}
@@ -0,0 +1,177 @@
+package snake;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A game loop that steps a snake panel's world at a fixed rate and renders it at a separate rate on a thread of its own.
+ * The world only changes on the loop's thread, other threads hand it commands through invokeLater.
+ * Every frame the loop runs the queued commands, steps the world once for every tick delay that passed and renders
+ * with how far the loop is into the next tick, so the display stays smooth whether ticks are slower or faster than frames.
+ */
+public class SnakeGameLoop implements Runnable {
+    public static final int DEFAULT_FRAME_RATE = 60, MAX_TICKS_PER_FRAME = 1000;
+    public static final long NANOS_PER_MILLISECOND = 1000000, NANOS_PER_SECOND = 1000000000;
+    private final SnakePanel panel;
+    private final Queue<Runnable> commandQueue;
+    private volatile boolean running;
+    private Thread thread;
+    private long tickDelay, frameDelay;
+
+    /**
+     * Creates a game loop.
+     * @param panel the panel whose world is stepped and rendered
+     * @param tickDelay the delay between ticks in milliseconds
+     */
+    public SnakeGameLoop(SnakePanel panel, int tickDelay) {
+        this.panel = panel;
+
+        commandQueue = new ConcurrentLinkedQueue<>();
+        running = false;
+        setTickDelay(tickDelay);
+        setFrameRate(DEFAULT_FRAME_RATE);
+    }
+
+    /**
+     * Starts the loop on a thread of its own.
+     */
+    public synchronized void start() {
+        if(running) {
+            return;
+        }
+
+        running = true;
+        thread = new Thread(this, "Snake Game Loop");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the loop and waits for its thread to finish the frame it's in.
+     * NOTE: Commands that haven't run yet are run by the calling thread so none are lost.
+     */
+    public synchronized void stop() {
+        if(!running) {
+            return;
+        }
+
+        running = false;
+
+        if(thread != Thread.currentThread()) {
+            boolean interrupted = false;
+            while(thread.isAlive()) {
+                try {
+                    thread.join();
+                }
+                catch(InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+
+            if(interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        thread = null;
+        runCommands();
+    }
+
+    /**
+     * Checks if the loop is running.
+     * @return true if the loop is running
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Queues a command to run on the loop's thread before the next tick.
+     * @param command the command
+     */
+    public void invokeLater(Runnable command) {
+        commandQueue.add(command);
+    }
+
+    /**
+     * Gets the delay between ticks.
+     * @return the delay in milliseconds
+     */
+    public int getTickDelay() {
+        return (int) (tickDelay / NANOS_PER_MILLISECOND);
+    }
+
+    /**
+     * Sets the delay between ticks.
+     * NOTE: The minimum delay is 1.
+     * @param tickDelay the delay in milliseconds
+     */
+    public void setTickDelay(int tickDelay) {
+        this.tickDelay = Math.max(tickDelay, 1) * NANOS_PER_MILLISECOND;
+    }
+
+    /**
+     * Sets the amount of frames rendered per second, usually the display's refresh rate.
+     * @param frameRate the frame rate
+     */
+    public void setFrameRate(int frameRate) {
+        frameDelay = NANOS_PER_SECOND / Math.max(frameRate, 1);
+    }
+
+    /**
+     * Runs the loop until it's stopped.
+     */
+    @Override
+    public void run() {
+        long previousTime = System.nanoTime();
+        long nextFrameTime = previousTime;
+        long lag = 0;
+
+        while(running) {
+            runCommands();
+
+            // catch up on the ticks that passed, a paused game keeps its lag so it resumes where it was
+            long time = System.nanoTime();
+            if(!panel.isPaused()) {
+                lag += time - previousTime;
+            }
+
+            previousTime = time;
+
+            int ticks = 0;
+            while(lag >= tickDelay && ticks < MAX_TICKS_PER_FRAME && !panel.isPaused()) {
+                panel.stepWorld();
+                lag -= tickDelay;
+                ticks++;
+            }
+
+            // drop ticks the loop can't catch up on instead of falling further behind
+            if(ticks == MAX_TICKS_PER_FRAME || panel.isPaused()) {
+                lag = Math.min(lag, tickDelay);
+            }
+
+            panel.render((double) Math.min(lag, tickDelay) / tickDelay);
+
+            // wait for the next frame, or skip the wait if the frame took too long
+            nextFrameTime += frameDelay;
+            long wait = nextFrameTime - System.nanoTime();
+            if(wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            else {
+                nextFrameTime = System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Runs the queued commands.
+     */
+    private void runCommands() {
+        Runnable command;
+        while((command = commandQueue.poll()) != null) {
+            command.run();
+        }
+    }
+}
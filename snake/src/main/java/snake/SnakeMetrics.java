@@ -0,0 +1,190 @@
+package snake;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Latency histograms of the phases of a tick and of painting, exposed as a JMX MBean.
+ * A phase is timed by chaining timestamps: start gives the first timestamp and every record call times a phase from the
+ * previous timestamp and gives the next one, so consecutive phases share their clock reads.
+ * NOTE: While disabled start gives NOT_TIMED and record returns right away, a single branch per phase.
+ * Enable the metrics with -Dsnake.metrics=true, or through the MBean once registered.
+ */
+public class SnakeMetrics implements SnakeMetricsMBean {
+    public static final int TICK = 0, DECIDE = 1, MOVE = 2, EAT = 3, COLLIDE = 4, PAINT = 5, PHASE_AMOUNT = 6;
+    public static final String[] PHASE_NAMES = {"tick", "decide", "move", "eat", "collide", "paint"};
+    public static final long NOT_TIMED = 0;
+    public static final String OBJECT_NAME = "snake:type=SnakeMetrics";
+    private static final SnakeMetrics INSTANCE = new SnakeMetrics();
+    private static final LatencyHistogram[] HISTOGRAMS = new LatencyHistogram[PHASE_AMOUNT];
+    private static volatile boolean enabled = Boolean.getBoolean("snake.metrics");
+
+    static {
+        for(int i = 0; i < PHASE_AMOUNT; i++) {
+            HISTOGRAMS[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Creates the metrics, there is only the one instance.
+     */
+    private SnakeMetrics() {
+    }
+
+    /**
+     * Gets the metrics.
+     * @return the metrics
+     */
+    public static SnakeMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server, doing nothing if they already are.
+     */
+    public static synchronized void register() {
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if(!ManagementFactory.getPlatformMBeanServer().isRegistered(name)) {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, name);
+            }
+        }
+        catch(JMException e) {
+            throw new IllegalStateException("Could not register the snake metrics", e);
+        }
+    }
+
+    /**
+     * Starts timing a phase.
+     * @return the timestamp the phase starts at, NOT_TIMED if the metrics are disabled
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : NOT_TIMED;
+    }
+
+    /**
+     * Records a phase that started at the given timestamp.
+     * NOTE: A clock reading exactly NOT_TIMED skips a phase, which is rare enough not to matter.
+     * @param phase the phase
+     * @param start the timestamp the phase started at, from start or the previous record
+     * @return the timestamp the phase ended at so the next phase can start there, NOT_TIMED if the phase wasn't timed
+     */
+    public static long record(int phase, long start) {
+        if(start == NOT_TIMED) {
+            return NOT_TIMED;
+        }
+
+        long end = System.nanoTime();
+        HISTOGRAMS[phase].record(end - start);
+
+        return end;
+    }
+
+    /**
+     * Gets a phase's histogram.
+     * @param phase the phase
+     * @return the histogram
+     */
+    public static LatencyHistogram getHistogram(int phase) {
+        return HISTOGRAMS[phase];
+    }
+
+    /**
+     * Gets whether or not the phases are timed.
+     * @return true if the phases are timed
+     */
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether or not the phases are timed.
+     * @param enabled true to time the phases
+     */
+    @Override
+    public void setEnabled(boolean enabled) {
+        SnakeMetrics.enabled = enabled;
+    }
+
+    /**
+     * Gets the names of the timed phases.
+     * @return the names
+     */
+    @Override
+    public String[] getPhaseNames() {
+        return PHASE_NAMES.clone();
+    }
+
+    /**
+     * Gets a phase's amount of recorded latencies.
+     * @param phaseName the phase's name
+     * @return the amount
+     */
+    @Override
+    public long getCount(String phaseName) {
+        return HISTOGRAMS[getPhase(phaseName)].getCount();
+    }
+
+    /**
+     * Gets the latency that the given percentage of a phase's latencies are at or below.
+     * @param phaseName the phase's name
+     * @param percentile the percentage, from 0 to 100
+     * @return the latency in nanoseconds
+     */
+    @Override
+    public long getPercentile(String phaseName, double percentile) {
+        return HISTOGRAMS[getPhase(phaseName)].getPercentile(percentile);
+    }
+
+    /**
+     * Gets a phase's largest latency.
+     * @param phaseName the phase's name
+     * @return the latency in nanoseconds
+     */
+    @Override
+    public long getMax(String phaseName) {
+        return HISTOGRAMS[getPhase(phaseName)].getMax();
+    }
+
+    /**
+     * Removes every phase's recorded latencies.
+     */
+    @Override
+    public void reset() {
+        for(LatencyHistogram histogram : HISTOGRAMS) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Gets a summary of every phase's latencies.
+     * @return the summary, a line per phase
+     */
+    @Override
+    public String dump() {
+        StringBuilder builder = new StringBuilder();
+        for(int i = 0; i < PHASE_AMOUNT; i++) {
+            builder.append(String.format("%-8s %s%n", PHASE_NAMES[i], HISTOGRAMS[i].getSummary()));
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Gets a phase by its name.
+     * @param phaseName the phase's name
+     * @return the phase
+     * @throws IllegalArgumentException if there is no phase with the name
+     */
+    private static int getPhase(String phaseName) {
+        for(int i = 0; i < PHASE_AMOUNT; i++) {
+            if(PHASE_NAMES[i].equals(phaseName)) {
+                return i;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown phase " + phaseName);
+    }
+}
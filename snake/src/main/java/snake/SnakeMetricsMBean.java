@@ -0,0 +1,57 @@
+package snake;
+
+/**
+ * The management interface of the snake metrics, see SnakeMetrics.
+ */
+public interface SnakeMetricsMBean {
+    /**
+     * Gets whether or not the phases are timed.
+     * @return true if the phases are timed
+     */
+    boolean isEnabled();
+
+    /**
+     * Sets whether or not the phases are timed.
+     * @param enabled true to time the phases
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * Gets the names of the timed phases.
+     * @return the names
+     */
+    String[] getPhaseNames();
+
+    /**
+     * Gets a phase's amount of recorded latencies.
+     * @param phaseName the phase's name
+     * @return the amount
+     */
+    long getCount(String phaseName);
+
+    /**
+     * Gets the latency that the given percentage of a phase's latencies are at or below.
+     * @param phaseName the phase's name
+     * @param percentile the percentage, from 0 to 100
+     * @return the latency in nanoseconds
+     */
+    long getPercentile(String phaseName, double percentile);
+
+    /**
+     * Gets a phase's largest latency.
+     * @param phaseName the phase's name
+     * @return the latency in nanoseconds
+     */
+    long getMax(String phaseName);
+
+    /**
+     * Removes every phase's recorded latencies.
+     */
+    void reset();
+
+    /**
+     * Gets a summary of every phase's latencies.
+     * @return the summary, a line per phase
+     */
+    String dump();
+}
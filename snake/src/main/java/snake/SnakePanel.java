@@ -0,0 +1,1100 @@
+package snake;
+
+import java.awt.*;
+import java.awt.event.*;
+import java.awt.geom.Line2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A snake panel.
+ * NOTE: The panel renders itself actively from its game loop with page flipping instead of waiting for repaints, the
+ * world is only changed on the game loop's thread.
+ */
+public class SnakePanel extends Canvas {
+    private static final long serialVersionUID = 1L;
+    public static final int DELAY = 50, SEEK_TICKS = 200;
+    public static final int UP = 0, DOWN = 1, LEFT = 2, RIGHT = 3, TOGGLE_AI_RESPAWN = 4, REVERSE = 5;
+    public static final int MAX_COLOR = 255, MID_COLOR = (int) (MAX_COLOR / 2.0), MIN_COLOR = 0, SCORED_SNAKE_AMOUNT = 4;
+    public static final float GOLDEN_RATIO_CONJUGATE = 0.618034f;
+    public static final int FULL_REDRAW_RATIO = 4;
+    private static final String[] SNAKE_CONTROLS = {"W  A    S    D     Q      E", "Y  H    G    J     T      U",
+            "P  ;    L    \"     O      [", "Up Down Left Right Shift  Enter"};
+    public static final Color BACKGROUND_COLOR = new Color(MIN_COLOR, MIN_COLOR, MIN_COLOR),
+            EDGES_COLOR = new Color(MAX_COLOR, MAX_COLOR, MAX_COLOR, 64), ROW_GRID_COLOR = new Color(MAX_COLOR, MAX_COLOR, MAX_COLOR, 16),
+            COLUMN_GRID_COLOR = new Color(MAX_COLOR, MAX_COLOR, MAX_COLOR, 16), FOOD_COLOR = new Color(MAX_COLOR, MAX_COLOR, MAX_COLOR, 255),
+            SCORE_BACKGROUND_COLOR = new Color(MAX_COLOR, MAX_COLOR, MAX_COLOR, 0), STATUS_COLOR = new Color(MAX_COLOR, MAX_COLOR, MAX_COLOR, 200);
+    private List<Color> snakeColorList, deadSnakeColorList;
+    private Line2D.Double line;
+    private List<Snake> snakeList;
+    private SnakeWorld world;
+    private ReplayPlayer replayPlayer;
+    private List<TeleporterShape> teleporterShapeList;
+    private List<FoodShape> foodShapeList;
+    private List<SnakeShape> snakeShapeList;
+    private int[] snakeHighScores;
+    private String[] scoreTexts;
+    private int[] scoreTextScores, scoreTextHighScores;
+    private boolean[] scoreTextAIs;
+    private String statusText;
+    private int statusTextDelay, statusTextFoodAmount;
+    private BufferedImage backgroundImage, worldImage;
+    private OccupancyGrid occupancyGrid;
+    private boolean[] drawnDead;
+    private int[] cellOwners, regionSnakes;
+    private int redrawnCellAmount;
+    private Rectangle2D.Double cellRect, textBackgroundRect;
+    private Font textFont, pausedFont, controlsFont;
+    private int fontPanelHeight;
+    private List<List<Integer>> keyCodeListList;
+    private int[] previousHeads;
+    private SnakeGameLoop gameLoop;
+    private boolean paused, showPausedText;
+
+    /**
+     * Creates a snake panel.
+     */
+    public SnakePanel() {
+        this(new SnakeWorld(new Position(0, 0), new Position(62 * 2, 34 * 2)));
+    }
+
+    /**
+     * Creates a snake panel that plays a replay at real-time speed.
+     * NOTE: Only the pause, pause text and delay controls work while playing a replay, the left and right keys seek.
+     * @param replayPlayer the replay player
+     */
+    public SnakePanel(ReplayPlayer replayPlayer) {
+        this(replayPlayer.getWorld(), replayPlayer);
+    }
+
+    /**
+     * Creates a snake panel that observes the given world.
+     * @param world the world
+     */
+    public SnakePanel(SnakeWorld world) {
+        this(world, null);
+    }
+
+    /**
+     * Creates a snake panel.
+     * @param world the world
+     * @param replayPlayer the replay player feeding the world, or null if the world is played
+     */
+    private SnakePanel(SnakeWorld world, ReplayPlayer replayPlayer) {
+        this.world = world;
+        this.replayPlayer = replayPlayer;
+
+        paused = true;
+        showPausedText = true;
+        line = new Line2D.Double();
+        cellRect = new Rectangle2D.Double();
+        textBackgroundRect = new Rectangle2D.Double();
+        fontPanelHeight = -1;
+
+        // track the cells that change so only they are redrawn
+        occupancyGrid = world.getOccupancyGrid();
+        occupancyGrid.setTrackDirtyCells(true);
+        cellOwners = new int[8];
+        regionSnakes = new int[8];
+        redrawnCellAmount = 0;
+
+        // setup teleporter shapes
+        teleporterShapeList = new ArrayList<>();
+
+        int teleporterAlpha = 255;
+        List<Color> teleporterColorList = new ArrayList<>();
+        teleporterColorList.add(new Color(MAX_COLOR, MID_COLOR, MAX_COLOR, teleporterAlpha));
+        teleporterColorList.add(new Color(MIN_COLOR, MID_COLOR, MAX_COLOR, teleporterAlpha));
+        teleporterColorList.add(new Color(MAX_COLOR, MID_COLOR, MIN_COLOR, teleporterAlpha));
+        teleporterColorList.add(new Color(MIN_COLOR, MAX_COLOR, MID_COLOR, teleporterAlpha));
+
+        List<Teleporter> teleporterList = world.getTeleporterList();
+        for(int i = 0; i < teleporterList.size(); i++) {
+            teleporterShapeList.add(new TeleporterShape(teleporterList.get(i), teleporterColorList.get(i % teleporterColorList.size())));
+        }
+
+        // setup food shapes
+        foodShapeList = new ArrayList<>();
+        for(Food food : world.getFoodList()) {
+            foodShapeList.add(new FoodShape(food, FOOD_COLOR));
+        }
+
+        // setup snake shapes
+        snakeColorList = new ArrayList<>();
+        int snakeAlpha = 255;
+        snakeColorList.add(new Color(MAX_COLOR, MIN_COLOR, MIN_COLOR, snakeAlpha));
+        snakeColorList.add(new Color(MIN_COLOR, MAX_COLOR, MIN_COLOR, snakeAlpha));
+        snakeColorList.add(new Color(MIN_COLOR, MAX_COLOR, MAX_COLOR, snakeAlpha));
+        snakeColorList.add(new Color(MAX_COLOR, MAX_COLOR, MIN_COLOR, snakeAlpha));
+
+        snakeList = world.getSnakeList();
+        snakeShapeList = new ArrayList<>(snakeList.size());
+        snakeHighScores = new int[snakeList.size()];
+        drawnDead = new boolean[snakeList.size()];
+
+        // snakes past the first four get generated colors with evenly spread hues
+        float hue = 0;
+        while(snakeColorList.size() < snakeList.size()) {
+            hue = (hue + GOLDEN_RATIO_CONJUGATE) % 1;
+            snakeColorList.add(Color.getHSBColor(hue, 0.75f, 1));
+        }
+
+        for(int i = 0; i < snakeList.size(); i++) {
+            snakeShapeList.add(new SnakeShape(snakeList.get(i), snakeColorList.get(i)));
+        }
+
+        // the score texts are only rebuilt when what they show changes, a score of -1 was never shown
+        int scoredSnakeAmount = Math.min(snakeList.size(), SCORED_SNAKE_AMOUNT);
+        deadSnakeColorList = new ArrayList<>(scoredSnakeAmount);
+        for(int i = 0; i < scoredSnakeAmount; i++) {
+            deadSnakeColorList.add(snakeColorList.get(i).darker().darker());
+        }
+
+        scoreTexts = new String[scoredSnakeAmount];
+        scoreTextScores = new int[scoredSnakeAmount];
+        scoreTextHighScores = new int[scoredSnakeAmount];
+        scoreTextAIs = new boolean[scoredSnakeAmount];
+        Arrays.fill(scoreTextScores, -1);
+        statusText = null;
+        statusTextDelay = -1;
+        statusTextFoodAmount = -1;
+
+        // the heads are drawn between the cells they moved from and to
+        previousHeads = new int[snakeList.size()];
+        storeHeads();
+
+        // the game loop steps and renders, so repaints from the system are not needed
+        gameLoop = new SnakeGameLoop(this, DELAY);
+        setIgnoreRepaint(true);
+
+        // setup keys
+        keyCodeListList = new ArrayList<>();
+        List<Integer> keyCodeList1 = new ArrayList<>();
+        keyCodeList1.add(KeyEvent.VK_W);
+        keyCodeList1.add(KeyEvent.VK_S);
+        keyCodeList1.add(KeyEvent.VK_A);
+        keyCodeList1.add(KeyEvent.VK_D);
+        keyCodeList1.add(KeyEvent.VK_E);
+        keyCodeList1.add(KeyEvent.VK_Q);
+        keyCodeListList.add(keyCodeList1);
+
+        List<Integer> keyCodeList2 = new ArrayList<>();
+        keyCodeList2.add(KeyEvent.VK_Y);
+        keyCodeList2.add(KeyEvent.VK_H);
+        keyCodeList2.add(KeyEvent.VK_G);
+        keyCodeList2.add(KeyEvent.VK_J);
+        keyCodeList2.add(KeyEvent.VK_U);
+        keyCodeList2.add(KeyEvent.VK_T);
+        keyCodeListList.add(keyCodeList2);
+
+        List<Integer> keyCodeList3 = new ArrayList<>();
+        keyCodeList3.add(KeyEvent.VK_P);
+        keyCodeList3.add(KeyEvent.VK_SEMICOLON);
+        keyCodeList3.add(KeyEvent.VK_L);
+        keyCodeList3.add(KeyEvent.VK_QUOTE);
+        keyCodeList3.add(KeyEvent.VK_OPEN_BRACKET);
+        keyCodeList3.add(KeyEvent.VK_O);
+        keyCodeListList.add(keyCodeList3);
+
+        List<Integer> keyCodeList4 = new ArrayList<>();
+        keyCodeList4.add(KeyEvent.VK_UP);
+        keyCodeList4.add(KeyEvent.VK_DOWN);
+        keyCodeList4.add(KeyEvent.VK_LEFT);
+        keyCodeList4.add(KeyEvent.VK_RIGHT);
+        keyCodeList4.add(KeyEvent.VK_ENTER);
+        keyCodeList4.add(KeyEvent.VK_SHIFT);
+        keyCodeListList.add(keyCodeList4);
+
+        // the keys only queue commands, the world is changed on the game loop's thread
+        addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                final int keyCode = e.getKeyCode();
+                gameLoop.invokeLater(new Runnable() {
+                    @Override
+                    public void run() {
+                        pressKey(keyCode);
+                    }
+                });
+            }
+
+            @Override
+            public void keyReleased(KeyEvent e) {
+                final int keyCode = e.getKeyCode();
+                gameLoop.invokeLater(new Runnable() {
+                    @Override
+                    public void run() {
+                        releaseKey(keyCode);
+                    }
+                });
+            }
+        });
+        setFocusable(true);
+    }
+
+    /**
+     * Runs the command of a pressed key.
+     * @param keyCode the key's code
+     */
+    private void pressKey(int keyCode) {
+        // snake commands, only the first snakes have keys and replays can't be controlled
+        int controlledSnakeAmount = replayPlayer == null ? Math.min(snakeList.size(), keyCodeListList.size()) : 0;
+        for(int i = 0; i < controlledSnakeAmount; i++) {
+            List<Integer> keyCodeList = keyCodeListList.get(i);
+            Snake snake = snakeList.get(i);
+
+            // commands if the game is not pause and the timer is running
+            if(!paused && !snake.isDead()) {
+                if(keyCode == keyCodeList.get(UP)) {
+                    snake.setDirection(Snake.UP);
+                }
+                else if(keyCode == keyCodeList.get(DOWN)) {
+                    snake.setDirection(Snake.DOWN);
+                }
+                else if(keyCode == keyCodeList.get(LEFT)) {
+                    snake.setDirection(Snake.LEFT);
+                }
+                else if(keyCode == keyCodeList.get(RIGHT)) {
+                    snake.setDirection(Snake.RIGHT);
+                }
+            }
+
+            // commands that can happen at any time
+            if(keyCode == keyCodeList.get(TOGGLE_AI_RESPAWN)) {
+                if(!paused) {
+                    if(snake.isDead()) {
+                        world.respawnSnake(i);
+                    }
+                    else {
+                        snake.toggleAIStatus();
+                    }
+                }
+                else {
+                    snake.toggleAIStatus();
+                }
+            }
+            else if(keyCode == keyCodeList.get(REVERSE)) {
+                world.setRewind(i, true);
+            }
+        }
+
+        // commands that can execute at any time
+        if(keyCode == KeyEvent.VK_ESCAPE) {
+            togglePause();
+        }
+        else if(keyCode == KeyEvent.VK_SPACE) {
+            toggleShowPausedText();
+        }
+        else if(keyCode == KeyEvent.VK_1 || keyCode == KeyEvent.VK_NUMPAD1) {
+            decreaseDelay();
+        }
+        else if(keyCode == KeyEvent.VK_2 || keyCode == KeyEvent.VK_NUMPAD2) {
+            increaseDelay();
+        }
+        else if(replayPlayer != null) {
+            // the other commands would change the replay
+            if(keyCode == KeyEvent.VK_LEFT) {
+                seek(-SEEK_TICKS);
+            }
+            else if(keyCode == KeyEvent.VK_RIGHT) {
+                seek(SEEK_TICKS);
+            }
+        }
+        else if(keyCode == KeyEvent.VK_BACK_SPACE) {
+            restart();
+        }
+        else if(keyCode == KeyEvent.VK_3 || keyCode == KeyEvent.VK_NUMPAD3) {
+            removeFood();
+        }
+        else if(keyCode == KeyEvent.VK_4 || keyCode == KeyEvent.VK_NUMPAD4) {
+            addFood();
+        }
+        else if(keyCode == KeyEvent.VK_5 || keyCode == KeyEvent.VK_NUMPAD5) {
+            nextAIStrategy();
+        }
+        else if(keyCode == KeyEvent.VK_0 || keyCode == KeyEvent.VK_NUMPAD0) {
+            toggleRespawnOnDeath();
+        }
+    }
+
+    /**
+     * Runs the command of a released key.
+     * @param keyCode the key's code
+     */
+    private void releaseKey(int keyCode) {
+        // snake command
+        int controlledSnakeAmount = replayPlayer == null ? Math.min(snakeList.size(), keyCodeListList.size()) : 0;
+        for(int i = 0; i < controlledSnakeAmount; i++) {
+            List<Integer> keyCodeList = keyCodeListList.get(i);
+
+            // command that can happen at any time
+            if(keyCode == keyCodeList.get(REVERSE)) {
+                world.setRewind(i, false);
+            }
+        }
+    }
+
+    /**
+     * Toggles respawn on death and respawns any dead snakes.
+     */
+    private void toggleRespawnOnDeath() {
+        world.toggleRespawnOnDeath();
+    }
+
+    /**
+     * Switches the snakes to the next registered AI strategy.
+     */
+    private void nextAIStrategy() {
+        List<String> nameList = SnakeAIRegistry.getNames();
+        int index = nameList.indexOf(snakeList.get(0).getAIStrategyName());
+
+        world.setAIStrategy(nameList.get((index + 1) % nameList.size()));
+    }
+
+    /**
+     * Restarts the game.
+     */
+    private void restart() {
+        world.restart();
+        storeHeads();
+
+        paused = true;
+    }
+
+    /**
+     * Adds a food.
+     */
+    private void addFood() {
+        world.addFood();
+    }
+
+    /**
+     * Removes a food.
+     * NOTE: The minimum food amount is SnakeWorld.MIN_FOOD_AMOUNT.
+     */
+    private void removeFood() {
+        world.removeFood();
+    }
+
+    /**
+     * Matches the food shapes to the world's foods, which a replay adds and removes without the panel.
+     */
+    private void updateFoodShapes() {
+        List<Food> foodList = world.getFoodList();
+
+        while(foodShapeList.size() > foodList.size()) {
+            foodShapeList.remove(foodShapeList.size() - 1);
+        }
+
+        for(int i = 0; i < foodList.size(); i++) {
+            if(i == foodShapeList.size()) {
+                foodShapeList.add(new FoodShape(foodList.get(i), FOOD_COLOR));
+            }
+            else if(foodShapeList.get(i).getFood() != foodList.get(i)) {
+                foodShapeList.set(i, new FoodShape(foodList.get(i), FOOD_COLOR));
+            }
+        }
+    }
+
+    /**
+     * Seeks the replay by an amount of ticks.
+     * @param ticks the amount of ticks, negative to seek backwards
+     */
+    private void seek(long ticks) {
+        replayPlayer.seek(world.getTick() + ticks);
+        storeHeads();
+    }
+
+    /**
+     * Decreases the delay between ticks by 1.
+     * NOTE: The minimum delay is 1.
+     */
+    private void decreaseDelay() {
+        gameLoop.setTickDelay(gameLoop.getTickDelay() - 1);
+    }
+
+    /**
+     * Increases the delay between ticks by 1.
+     */
+    private void increaseDelay() {
+        gameLoop.setTickDelay(gameLoop.getTickDelay() + 1);
+    }
+
+    /**
+     * Toggles pause.
+     */
+    private void togglePause() {
+        paused = !paused;
+    }
+
+    /**
+     * Checks if the game is paused.
+     * @return true if the game is paused
+     */
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Steps the world, or the replay feeding it, by a tick and pauses at the end of a replay.
+     * NOTE: Only the game loop's thread may step the world.
+     */
+    public void stepWorld() {
+        storeHeads();
+
+        if(replayPlayer == null) {
+            world.step();
+        }
+        else if(!replayPlayer.step()) {
+            // the replay ended
+            paused = true;
+        }
+    }
+
+    /**
+     * Drops the background image and the world image drawn on it, so the next frame renders both from scratch.
+     * NOTE: Only used to measure what the cached background saves.
+     */
+    void invalidateBackground() {
+        backgroundImage = null;
+        worldImage = null;
+    }
+
+    /**
+     * Drops the world image, so the next frame draws the whole world onto the cached background.
+     * NOTE: Only used to measure what redrawing just the dirty cells saves.
+     */
+    void invalidateWorldImage() {
+        worldImage = null;
+    }
+
+    /**
+     * Stores where every snake's head is so the heads can be drawn moving from there.
+     */
+    private void storeHeads() {
+        for(int i = 0; i < snakeList.size(); i++) {
+            Position position = snakeList.get(i).position;
+            previousHeads[i] = Position.pack(position.x, position.y);
+        }
+    }
+
+    /**
+     * Gets the game loop that steps and renders this panel.
+     * @return the game loop
+     */
+    public SnakeGameLoop getGameLoop() {
+        return gameLoop;
+    }
+
+    /**
+     * Creates the page flipping buffers and starts the game loop once the panel can be displayed.
+     */
+    @Override
+    public void addNotify() {
+        super.addNotify();
+
+        createBufferStrategy(2);
+
+        // render a frame per refresh of the display if it's known
+        int refreshRate = getGraphicsConfiguration().getDevice().getDisplayMode().getRefreshRate();
+        if(refreshRate != DisplayMode.REFRESH_RATE_UNKNOWN) {
+            gameLoop.setFrameRate(refreshRate);
+        }
+
+        gameLoop.start();
+    }
+
+    /**
+     * Stops the game loop before the page flipping buffers are released.
+     */
+    @Override
+    public void removeNotify() {
+        gameLoop.stop();
+
+        super.removeNotify();
+    }
+
+    /**
+     * Renders a frame to the back buffer and flips it to the display.
+     * NOTE: Only the game loop's thread may render.
+     * @param alpha how far the game is into the next tick, from 0 to 1
+     */
+    public void render(double alpha) {
+        BufferStrategy bufferStrategy = getBufferStrategy();
+        if(bufferStrategy == null || getWidth() <= 0 || getHeight() <= 0) {
+            return;
+        }
+
+        // the buffers' contents can be lost at any time, so render until a whole frame made it to the display
+        do {
+            do {
+                Graphics2D g2 = (Graphics2D) bufferStrategy.getDrawGraphics();
+                try {
+                    paintFrame(g2, alpha);
+                }
+                finally {
+                    g2.dispose();
+                }
+            } while(bufferStrategy.contentsRestored());
+
+            bufferStrategy.show();
+        } while(bufferStrategy.contentsLost());
+
+        Toolkit.getDefaultToolkit().sync();
+    }
+
+    /**
+     * Paints this panel if the game loop isn't rendering it.
+     * @param g the graphics
+     */
+    @Override
+    public void paint(Graphics g) {
+        if(!gameLoop.isRunning()) {
+            paintComponent(g);
+        }
+    }
+
+    /**
+     * Toggles show paused text.
+     */
+    private void toggleShowPausedText() {
+        showPausedText = !showPausedText;
+    }
+
+    /**
+     * Paints this panel.
+     * @param g the graphics
+     */
+    public void paintComponent(Graphics g) {
+        paintFrame((Graphics2D) g, 1);
+    }
+
+    /**
+     * Paints a frame.
+     * @param g2 the graphics2D
+     * @param alpha how far the game is into the next tick, from 0 to 1
+     */
+    private void paintFrame(Graphics2D g2, double alpha) {
+        long time = SnakeMetrics.start();
+        SnakeFrameEvent event = null;
+        if(SnakeFrameEvent.isRecorded()) {
+            event = new SnakeFrameEvent();
+            event.begin();
+        }
+
+        int width = getWidth();
+        int height = getHeight();
+
+        double textPercentage = 5.0;
+        double scoreRectHeight = height * (textPercentage / 100.0);
+
+        double worldWidth = width;
+        double worldHeight = height - scoreRectHeight;
+
+        // setup slices
+        double sliceWidth = worldWidth / (world.getMaxPosition().x + 2);
+        double sliceHeight = worldHeight / (world.getMaxPosition().y + 2);
+
+        // draw the world, only the cells that changed since the last frame are redrawn into the world image
+        g2.drawImage(getWorldImage(width, height, worldWidth, worldHeight, sliceWidth, sliceHeight), 0, 0, null);
+
+        // draw the heads on top of the world, dead snakes then alive snakes
+        drawHeads(g2, alpha, true, sliceWidth, sliceHeight);
+        drawHeads(g2, alpha, false, sliceWidth, sliceHeight);
+
+        // draw scores' background
+        g2.setColor(SCORE_BACKGROUND_COLOR);
+
+        textBackgroundRect.setRect(0, height - scoreRectHeight, worldWidth, scoreRectHeight);
+        g2.fill(textBackgroundRect);
+
+        // draw scores
+        double textHeight = scoreRectHeight / 2.0;
+        double descent = textHeight / 5.0;
+        updateFonts(height, textHeight, worldHeight);
+        g2.setFont(textFont);
+
+        // setup high scores
+        for(int i = 0; i < snakeList.size(); i++) {
+            int snakeScore = snakeList.get(i).getBody().size();
+            if(snakeScore > snakeHighScores[i]) {
+                snakeHighScores[i] = snakeScore;
+            }
+        }
+
+        // setup score texts, only the first snakes fit
+        for(int i = 0; i < scoreTexts.length; i++) {
+            Snake snake = snakeList.get(i);
+            String text = getScoreText(i, snake);
+
+            // make score text darker on death
+            if(snake.isDead()) {
+                g2.setColor(deadSnakeColorList.get(i));
+            }
+            else {
+                g2.setColor(snakeColorList.get(i));
+            }
+
+            if(i == 0) {
+                g2.drawString(text, 0, (int) (height - scoreRectHeight + textHeight - descent));
+            }
+            else if (i == 1) {
+                g2.drawString(text, (int) (width / 2.0), (int) (height - scoreRectHeight + textHeight - descent));
+            }
+            else if(i == 2) {
+                g2.drawString(text, 0, (int) (height - descent));
+            }
+            else if(i == 3) {
+                g2.drawString(text, (int) (width / 2.0), (int) (height - descent));
+            }
+        }
+
+        // draw statuses
+        g2.setColor(STATUS_COLOR);
+
+        String respawnOnDeathStr = world.isRespawnOnDeath() ? " Respawn Snakes On Death:    On" : " Respawn Snakes On Death:   Off";
+        g2.drawString(respawnOnDeathStr, 0, (int) worldHeight);
+
+        g2.drawString(getStatusText(), (int) (width / 2.0), (int) worldHeight);
+
+        // draw pause menu
+        if(paused && showPausedText) {
+            // draw paused
+            g2.setFont(pausedFont);
+
+            g2.setColor(EDGES_COLOR);
+            g2.drawString("Paused", (int) (worldWidth / 33.0), (int) (worldHeight - sliceHeight * 2));
+
+            // draw controls
+            g2.setFont(controlsFont);
+
+            // snake controls
+            g2.setColor(STATUS_COLOR);
+            g2.drawString("---------- Snake Controls ----------", (int) (worldWidth / 33.0), (int) (sliceHeight * 3));
+
+            g2.drawString("Up Down Left Right Rewind AI/Respawn", (int) (worldWidth / 33.0), (int) (sliceHeight * 6));
+
+            for(int i = 0; i < Math.min(snakeList.size(), SNAKE_CONTROLS.length); i++) {
+                g2.setColor(snakeColorList.get(i));
+                g2.drawString(SNAKE_CONTROLS[i], (int) (worldWidth / 33.0), (int) (sliceHeight * (9 + i * 3)));
+            }
+
+            // other controls
+            g2.setColor(STATUS_COLOR);
+            g2.drawString("--------- Other Controls ---------", (int) (worldWidth / 2.0), (int) (sliceHeight * 3));
+            g2.drawString("Toggle Pause             Escape", (int) (worldWidth / 2.0), (int) (sliceHeight * 6));
+            g2.drawString("Toggle Pause Text        Space", (int) (worldWidth / 2.0), (int) (sliceHeight * 9));
+            g2.drawString("Restart                  Backspace", (int) (worldWidth / 2.0), (int) (sliceHeight * 12));
+            g2.drawString("Decrease Delay           1", (int) (worldWidth / 2.0), (int) (sliceHeight * 15));
+            g2.drawString("Increase Delay           2", (int) (worldWidth / 2.0), (int) (sliceHeight * 18));
+            g2.drawString("Decrease Food            3", (int) (worldWidth / 2.0), (int) (sliceHeight * 21));
+            g2.drawString("Increase Food            4", (int) (worldWidth / 2.0), (int) (sliceHeight * 24));
+            g2.drawString("Next AI Strategy         5", (int) (worldWidth / 2.0), (int) (sliceHeight * 27));
+            g2.drawString("Toggle Respawn On Death  0", (int) (worldWidth / 2.0), (int) (sliceHeight * 30));
+        }
+
+        SnakeMetrics.record(SnakeMetrics.PAINT, time);
+
+        if(event != null && event.shouldCommit()) {
+            event.tick = world.getTick();
+            event.width = width;
+            event.height = height;
+            event.dirtyCellAmount = redrawnCellAmount;
+            event.alpha = alpha;
+            event.commit();
+        }
+    }
+
+    /**
+     * Gets the score text of a scored snake, rebuilding it only if its score, high score or AI status changed.
+     * @param index the snake's index
+     * @param snake the snake
+     * @return the score text
+     */
+    private String getScoreText(int index, Snake snake) {
+        int snakeScore = snake.getBody().size();
+        int snakeHighScore = snakeHighScores[index];
+        boolean isAI = snake.isAI();
+
+        if(snakeScore != scoreTextScores[index] || snakeHighScore != scoreTextHighScores[index] || isAI != scoreTextAIs[index]) {
+            String aiMarker = isAI ? "*" : " ";
+            scoreTexts[index] = aiMarker + "Score: " + String.format("%5d", snakeScore) + " High Score: " + String.format("%5d", snakeHighScore);
+            scoreTextScores[index] = snakeScore;
+            scoreTextHighScores[index] = snakeHighScore;
+            scoreTextAIs[index] = isAI;
+        }
+
+        return scoreTexts[index];
+    }
+
+    /**
+     * Gets the status text of the delay and the food count, rebuilding it only if either changed.
+     * @return the status text
+     */
+    private String getStatusText() {
+        int delay = gameLoop.getTickDelay();
+        int foodAmount = world.getFoodList().size();
+
+        if(delay != statusTextDelay || foodAmount != statusTextFoodAmount) {
+            statusText = String.format(" Delay: %5d Food Count: %5d", delay, foodAmount);
+            statusTextDelay = delay;
+            statusTextFoodAmount = foodAmount;
+        }
+
+        return statusText;
+    }
+
+    /**
+     * Creates the fonts for the panel's height, unless they were already created for it.
+     * @param height the panel's height
+     * @param textHeight the height of the score and status text
+     * @param worldHeight the world's height
+     */
+    private void updateFonts(int height, double textHeight, double worldHeight) {
+        if(height == fontPanelHeight) {
+            return;
+        }
+
+        textFont = new Font(Font.MONOSPACED, Font.PLAIN, (int) textHeight);
+        pausedFont = new Font(Font.MONOSPACED, Font.PLAIN, (int) (worldHeight / 2.0));
+        controlsFont = new Font(Font.MONOSPACED, Font.PLAIN, (int) (worldHeight / 25.0));
+        fontPanelHeight = height;
+    }
+
+    /**
+     * Draws the heads of the dead or alive snakes, sliding a head that moved to a neighboring cell in the last tick
+     * from where it was.
+     * NOTE: The heads aren't part of the world image since they move every frame.
+     * @param g2 the graphics2D
+     * @param alpha how far the game is into the next tick, from 0 to 1
+     * @param dead true to draw the dead snakes, false to draw the alive snakes
+     * @param sliceWidth the width of a cell
+     * @param sliceHeight the height of a cell
+     */
+    private void drawHeads(Graphics2D g2, double alpha, boolean dead, double sliceWidth, double sliceHeight) {
+        for(int i = 0; i < snakeList.size(); i++) {
+            Snake snake = snakeList.get(i);
+            if(snake.isDead() != dead) {
+                continue;
+            }
+
+            double x = snake.position.x;
+            double y = snake.position.y;
+
+            // teleports, respawns and deaths jump instead of sliding
+            int previousX = Position.unpackX(previousHeads[i]);
+            int previousY = Position.unpackY(previousHeads[i]);
+            if(!dead && Math.abs(x - previousX) + Math.abs(y - previousY) == 1) {
+                x = previousX + (x - previousX) * alpha;
+                y = previousY + (y - previousY) * alpha;
+            }
+
+            snakeShapeList.get(i).drawHead(g2, x, y, sliceWidth, sliceHeight, sliceWidth, sliceHeight);
+        }
+    }
+
+    /**
+     * Gets the world image, a persistent backbuffer of the background, snakes' tails, teleporters and foods.
+     * Only the cells whose occupants changed since the last frame are redrawn, unless the panel was resized or so many
+     * cells changed that redrawing everything is cheaper.
+     * @param width the panel's width
+     * @param height the panel's height
+     * @param worldWidth the world's width
+     * @param worldHeight the world's height
+     * @param sliceWidth the width of a cell
+     * @param sliceHeight the height of a cell
+     * @return the world image
+     */
+    private BufferedImage getWorldImage(int width, int height, double worldWidth, double worldHeight, double sliceWidth, double sliceHeight) {
+        BufferedImage background = getBackgroundImage(width, height, worldWidth, worldHeight, sliceWidth, sliceHeight);
+
+        boolean redraw = worldImage == null || worldImage.getWidth() != background.getWidth() || worldImage.getHeight() != background.getHeight();
+        if(redraw) {
+            worldImage = createCompatibleImage(background.getWidth(), background.getHeight());
+        }
+
+        // a snake that died or respawned changes the color of every cell it is in
+        for(int i = 0; i < snakeList.size(); i++) {
+            Snake snake = snakeList.get(i);
+            if(snake.isDead() != drawnDead[i]) {
+                markDirty(snake);
+                drawnDead[i] = snake.isDead();
+            }
+        }
+
+        Graphics2D g2 = worldImage.createGraphics();
+        int dirtyCellAmount = occupancyGrid.getDirtyCellAmount();
+
+        if(redraw || dirtyCellAmount > occupancyGrid.getCellAmount() / FULL_REDRAW_RATIO) {
+            drawWorld(g2, background, sliceWidth, sliceHeight);
+            redrawnCellAmount = -1;
+        }
+        else {
+            // outlines reach a pixel past their cell, so tiny cells need more neighbors redrawn
+            int radius = 1 + (int) Math.ceil(2 / Math.min(sliceWidth, sliceHeight));
+
+            for(int i = 0; i < dirtyCellAmount; i++) {
+                drawCell(g2, background, occupancyGrid.getDirtyCell(i), radius, sliceWidth, sliceHeight);
+            }
+
+            redrawnCellAmount = dirtyCellAmount;
+        }
+
+        g2.dispose();
+        occupancyGrid.clearDirtyCells();
+
+        return worldImage;
+    }
+
+    /**
+     * Draws the whole world.
+     * @param g2 the graphics2D
+     * @param background the background image
+     * @param sliceWidth the width of a cell
+     * @param sliceHeight the height of a cell
+     */
+    private void drawWorld(Graphics2D g2, BufferedImage background, double sliceWidth, double sliceHeight) {
+        // draw the background, edges and grid, which only change when the panel is resized
+        g2.drawImage(background, 0, 0, null);
+
+        // draw dead snakes' tails
+        for(SnakeShape snakeShape : snakeShapeList) {
+            if(snakeShape.getSnake().isDead()) {
+                snakeShape.drawTails(g2, sliceWidth, sliceHeight, sliceWidth, sliceHeight);
+            }
+        }
+
+        // draw alive snakes' tails
+        for(SnakeShape snakeShape : snakeShapeList) {
+            if(!snakeShape.getSnake().isDead()) {
+                snakeShape.drawTails(g2, sliceWidth, sliceHeight, sliceWidth, sliceHeight);
+            }
+        }
+
+        // draw teleporters
+        for(TeleporterShape teleporterShape : teleporterShapeList) {
+            teleporterShape.draw(g2, sliceWidth, sliceHeight, sliceWidth, sliceHeight);
+        }
+
+        // draw food
+        updateFoodShapes();
+        for(FoodShape foodShape : foodShapeList) {
+            foodShape.draw(g2, sliceWidth, sliceHeight, sliceWidth, sliceHeight);
+        }
+    }
+
+    /**
+     * Redraws a cell and the pixels around it that the outlines of its neighbors reach.
+     * The neighbors are drawn clipped to the cell in the same order as drawWorld so the result is the same.
+     * @param g2 the graphics2D
+     * @param background the background image
+     * @param cell the cell
+     * @param radius the amount of neighbors in every direction that can reach the cell
+     * @param sliceWidth the width of a cell
+     * @param sliceHeight the height of a cell
+     */
+    private void drawCell(Graphics2D g2, BufferedImage background, int cell, int radius, double sliceWidth, double sliceHeight) {
+        int cellX = occupancyGrid.getCellX(cell);
+        int cellY = occupancyGrid.getCellY(cell);
+
+        // clip to the cell grown by a pixel and restore the background there
+        int left = (int) Math.floor(cellX * sliceWidth + sliceWidth) - 1;
+        int top = (int) Math.floor(cellY * sliceHeight + sliceHeight) - 1;
+        int right = (int) Math.ceil((cellX + 1) * sliceWidth + sliceWidth) + 2;
+        int bottom = (int) Math.ceil((cellY + 1) * sliceHeight + sliceHeight) + 2;
+        g2.setClip(left, top, right - left, bottom - top);
+        g2.drawImage(background, left, top, right, bottom, left, top, right, bottom, null);
+
+        // find the snakes in the neighborhood, in the order drawWorld draws them
+        boolean hasTeleporter = false;
+        boolean hasFood = false;
+        int regionSnakeAmount = 0;
+        for(int y = cellY - radius; y <= cellY + radius; y++) {
+            for(int x = cellX - radius; x <= cellX + radius; x++) {
+                int neighbor = occupancyGrid.getCell(x, y);
+                if(neighbor == OccupancyGrid.OUT_OF_BOUNDS) {
+                    continue;
+                }
+
+                hasTeleporter |= occupancyGrid.hasTeleporter(neighbor);
+                hasFood |= occupancyGrid.hasFood(neighbor);
+
+                int ownerAmount = occupancyGrid.getOwners(neighbor, cellOwners);
+                if(ownerAmount > cellOwners.length) {
+                    cellOwners = new int[ownerAmount * 2];
+                    occupancyGrid.getOwners(neighbor, cellOwners);
+                }
+
+                for(int i = 0; i < ownerAmount; i++) {
+                    int owner = cellOwners[i];
+                    int id = OccupancyGrid.isHeadOwner(owner) ? OccupancyGrid.getHeadId(owner) : owner;
+
+                    if(regionSnakeAmount == regionSnakes.length) {
+                        regionSnakes = Arrays.copyOf(regionSnakes, regionSnakes.length * 2);
+                    }
+
+                    regionSnakes[regionSnakeAmount++] = id;
+                }
+            }
+        }
+
+        Arrays.sort(regionSnakes, 0, regionSnakeAmount);
+
+        // draw dead snakes' tails, then alive snakes' tails
+        drawCellSnakes(g2, cellX, cellY, radius, regionSnakeAmount, true, sliceWidth, sliceHeight);
+        drawCellSnakes(g2, cellX, cellY, radius, regionSnakeAmount, false, sliceWidth, sliceHeight);
+
+        // draw teleporters
+        if(hasTeleporter) {
+            for(TeleporterShape teleporterShape : teleporterShapeList) {
+                for(int y = cellY - radius; y <= cellY + radius; y++) {
+                    for(int x = cellX - radius; x <= cellX + radius; x++) {
+                        teleporterShape.drawCell(g2, x, y, sliceWidth, sliceHeight, sliceWidth, sliceHeight);
+                    }
+                }
+            }
+        }
+
+        // draw food
+        if(hasFood) {
+            g2.setColor(FOOD_COLOR);
+            for(int y = cellY - radius; y <= cellY + radius; y++) {
+                for(int x = cellX - radius; x <= cellX + radius; x++) {
+                    if(occupancyGrid.hasFood(occupancyGrid.getCell(x, y))) {
+                        cellRect.setRect(x * sliceWidth + sliceWidth, y * sliceHeight + sliceHeight, sliceWidth, sliceHeight);
+                        g2.draw(cellRect);
+                    }
+                }
+            }
+        }
+
+        g2.setClip(null);
+    }
+
+    /**
+     * Draws the tails of the dead or alive snakes in a cell's neighborhood.
+     * @param g2 the graphics2D
+     * @param cellX the cell's x value
+     * @param cellY the cell's y value
+     * @param radius the amount of neighbors in every direction
+     * @param regionSnakeAmount the amount of sorted snake ids in the region snakes, which may repeat
+     * @param dead true to draw the dead snakes, false to draw the alive snakes
+     * @param sliceWidth the width of a cell
+     * @param sliceHeight the height of a cell
+     */
+    private void drawCellSnakes(Graphics2D g2, int cellX, int cellY, int radius, int regionSnakeAmount, boolean dead, double sliceWidth, double sliceHeight) {
+        for(int i = 0; i < regionSnakeAmount; i++) {
+            int id = regionSnakes[i];
+            if((i > 0 && regionSnakes[i - 1] == id) || snakeList.get(id).isDead() != dead) {
+                continue;
+            }
+
+            SnakeShape snakeShape = snakeShapeList.get(id);
+            for(int y = cellY - radius; y <= cellY + radius; y++) {
+                for(int x = cellX - radius; x <= cellX + radius; x++) {
+                    int tailCount = occupancyGrid.getSnakeCount(id, occupancyGrid.getCell(x, y));
+                    for(int j = 0; j < tailCount; j++) {
+                        snakeShape.drawTail(g2, x, y, sliceWidth, sliceHeight, sliceWidth, sliceHeight);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Marks every cell a snake is in as changed.
+     * @param snake the snake
+     */
+    private void markDirty(Snake snake) {
+        occupancyGrid.markDirty(occupancyGrid.getCell(snake.position));
+
+        SnakeBody body = snake.getBody();
+        for(int i = 0; i < body.getLength(); i++) {
+            occupancyGrid.markDirty(occupancyGrid.getCell(body.getX(i), body.getY(i)));
+        }
+    }
+
+    /**
+     * Creates an image that is compatible with the screen so drawing it can be hardware accelerated.
+     * @param width the image's width
+     * @param height the image's height
+     * @return the image
+     */
+    private BufferedImage createCompatibleImage(int width, int height) {
+        GraphicsConfiguration graphicsConfiguration = getGraphicsConfiguration();
+        if(graphicsConfiguration != null) {
+            return graphicsConfiguration.createCompatibleImage(width, height);
+        }
+
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    }
+
+    /**
+     * Gets the background with the world's edges and grid, rendering it again only if the panel's size changed.
+     * @param width the panel's width
+     * @param height the panel's height
+     * @param worldWidth the world's width
+     * @param worldHeight the world's height
+     * @param sliceWidth the width of a cell
+     * @param sliceHeight the height of a cell
+     * @return the background image
+     */
+    private BufferedImage getBackgroundImage(int width, int height, double worldWidth, double worldHeight, double sliceWidth, double sliceHeight) {
+        int imageWidth = Math.max(width, 1);
+        int imageHeight = Math.max(height, 1);
+        if(backgroundImage != null && backgroundImage.getWidth() == imageWidth && backgroundImage.getHeight() == imageHeight) {
+            return backgroundImage;
+        }
+
+        backgroundImage = createCompatibleImage(imageWidth, imageHeight);
+
+        Graphics2D g2 = backgroundImage.createGraphics();
+
+        // draw background
+        Rectangle2D.Double backgroundRect = new Rectangle2D.Double(0, 0, width, height);
+        g2.setColor(BACKGROUND_COLOR);
+        g2.fill(backgroundRect);
+
+        // draw edges of world
+        g2.setColor(EDGES_COLOR);
+
+        Rectangle2D.Double topEdgeRect = new Rectangle2D.Double(sliceWidth, 0, worldWidth - (sliceWidth * 2), sliceHeight);
+        g2.fill(topEdgeRect);
+
+        Rectangle2D.Double bottomEdgeRect = new Rectangle2D.Double(sliceWidth, worldHeight - sliceHeight, worldWidth - (sliceWidth * 2), sliceHeight);
+        g2.fill(bottomEdgeRect);
+
+        Rectangle2D.Double leftEdgeRect = new Rectangle2D.Double(0, 0, sliceWidth, worldHeight);
+        g2.fill(leftEdgeRect);
+
+        Rectangle2D.Double rightEdgeRect = new Rectangle2D.Double(worldWidth - sliceWidth, 0, sliceWidth, worldHeight);
+        g2.fill(rightEdgeRect);
+
+        // draw grid
+        g2.setColor(ROW_GRID_COLOR);
+        double xStart = sliceWidth;
+        double xEnd = worldWidth - sliceWidth;
+        for(int row = 1; row < world.getMaxPosition().y; row++) {
+            double y = sliceHeight + (row * sliceHeight);
+            line.setLine(xStart, y, xEnd, y);
+            g2.draw(line);
+        }
+
+        g2.setColor(COLUMN_GRID_COLOR);
+        double yStart = sliceHeight;
+        double yEnd = worldHeight - sliceHeight;
+        for(int column = 1; column < world.getMaxPosition().x; column++) {
+            double x = sliceWidth + (column * sliceWidth);
+            line.setLine(x, yStart, x, yEnd);
+            g2.draw(line);
+        }
+
+        g2.dispose();
+
+        return backgroundImage;
+    }
+}
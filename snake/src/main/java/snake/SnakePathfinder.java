@@ -0,0 +1,188 @@
+package snake;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A breadth first search pathfinder that finds the first direction of the shortest path from a snake to a food.
+ * NOTE: The search buffers are allocated once and reused for every search, teleporters are zero cost edges.
+ */
+public class SnakePathfinder {
+    public static final int NO_DIRECTION = -1, DEADLINE_CHECK_MASK = 0xFF;
+    private int[] frontier, visitedStamps;
+    private byte[] firstDirections;
+    private int stamp;
+
+    /**
+     * Creates a pathfinder.
+     */
+    public SnakePathfinder() {
+        frontier = new int[0];
+        visitedStamps = new int[0];
+        firstDirections = new byte[0];
+        stamp = 0;
+    }
+
+    /**
+     * Gets the first direction of the shortest path from the snake's head to the closest food.
+     * @param snake the snake
+     * @return the direction, or NO_DIRECTION if no food can be reached
+     */
+    public int getDirection(Snake snake) {
+        return getDirection(snake, Long.MAX_VALUE);
+    }
+
+    /**
+     * Gets the first direction of the shortest path from the snake's head to the closest food.
+     * @param snake the snake
+     * @param deadline the System.nanoTime() value the search gives up at
+     * @return the direction, or NO_DIRECTION if no food can be reached before the deadline
+     */
+    public int getDirection(Snake snake, long deadline) {
+        OccupancyGrid occupancyGrid = snake.getOccupancyGrid();
+        int headCell = occupancyGrid.getCell(snake.position);
+        if(headCell == OccupancyGrid.OUT_OF_BOUNDS) {
+            return NO_DIRECTION;
+        }
+
+        ensureCapacity(occupancyGrid.getCellAmount());
+        nextStamp();
+
+        int head = 0;
+        int tail = 0;
+        visitedStamps[headCell] = stamp;
+
+        // the first step is limited to legal direction changes
+        for(int direction = Block.UP; direction < Block.DIRECTION_AMOUNT; direction++) {
+            if(!snake.isLegalDirectionChange(direction)) {
+                continue;
+            }
+
+            int cell = getNeighbor(occupancyGrid, headCell, direction);
+            if(isBlocked(snake, occupancyGrid, cell)) {
+                continue;
+            }
+
+            if(occupancyGrid.hasFood(cell)) {
+                return direction;
+            }
+
+            cell = getTeleportedCell(snake, occupancyGrid, cell);
+            if(!isBlocked(snake, occupancyGrid, cell) && visitedStamps[cell] != stamp) {
+                visitedStamps[cell] = stamp;
+                firstDirections[cell] = (byte) direction;
+                frontier[tail++] = cell;
+            }
+        }
+
+        while(head < tail) {
+            // only check the clock every so often
+            if((head & DEADLINE_CHECK_MASK) == 0 && System.nanoTime() - deadline > 0) {
+                return NO_DIRECTION;
+            }
+
+            int current = frontier[head++];
+            int x = occupancyGrid.getCellX(current);
+            int y = occupancyGrid.getCellY(current);
+
+            for(int direction = Block.UP; direction < Block.DIRECTION_AMOUNT; direction++) {
+                int cell = occupancyGrid.getCell(x + Block.DIRECTION_X[direction], y + Block.DIRECTION_Y[direction]);
+                if(isBlocked(snake, occupancyGrid, cell)) {
+                    continue;
+                }
+
+                if(occupancyGrid.hasFood(cell)) {
+                    return firstDirections[current];
+                }
+
+                cell = getTeleportedCell(snake, occupancyGrid, cell);
+                if(!isBlocked(snake, occupancyGrid, cell) && visitedStamps[cell] != stamp) {
+                    visitedStamps[cell] = stamp;
+                    firstDirections[cell] = firstDirections[current];
+                    frontier[tail++] = cell;
+                }
+            }
+        }
+
+        return NO_DIRECTION;
+    }
+
+    /**
+     * Gets the neighbor of a cell.
+     * @param occupancyGrid the occupancy grid
+     * @param cell the cell
+     * @param direction the direction of the neighbor
+     * @return the neighbor, or OccupancyGrid.OUT_OF_BOUNDS if it is not on the board
+     */
+    private int getNeighbor(OccupancyGrid occupancyGrid, int cell, int direction) {
+        return occupancyGrid.getCell(occupancyGrid.getCellX(cell) + Block.DIRECTION_X[direction],
+                occupancyGrid.getCellY(cell) + Block.DIRECTION_Y[direction]);
+    }
+
+    /**
+     * Checks if a cell is out of bounds or one of the snake's tails.
+     * @param snake the snake
+     * @param occupancyGrid the occupancy grid
+     * @param cell the cell
+     * @return true if the snake can't move into the cell
+     */
+    private boolean isBlocked(Snake snake, OccupancyGrid occupancyGrid, int cell) {
+        return cell == OccupancyGrid.OUT_OF_BOUNDS || occupancyGrid.hasSnake(snake.getId(), cell);
+    }
+
+    /**
+     * Gets the cell the snake ends up in after moving into a cell, following a teleporter if there is one.
+     * @param snake the snake
+     * @param occupancyGrid the occupancy grid
+     * @param cell the cell moved into
+     * @return the cell the snake ends up in
+     */
+    private int getTeleportedCell(Snake snake, OccupancyGrid occupancyGrid, int cell) {
+        if(!occupancyGrid.hasTeleporter(cell)) {
+            return cell;
+        }
+
+        int x = occupancyGrid.getCellX(cell);
+        int y = occupancyGrid.getCellY(cell);
+        List<Teleporter> teleporterList = snake.getTeleporterList();
+        for(int i = 0; i < teleporterList.size(); i++) {
+            Teleporter teleporter = teleporterList.get(i);
+            Position entrancePosition = teleporter.entranceBlock.position;
+            Position exitPosition = teleporter.exitBlock.position;
+
+            if(entrancePosition.x == x && entrancePosition.y == y) {
+                return occupancyGrid.getCell(exitPosition);
+            }
+            else if(exitPosition.x == x && exitPosition.y == y) {
+                return occupancyGrid.getCell(entrancePosition);
+            }
+        }
+
+        return cell;
+    }
+
+    /**
+     * Advances the visited stamp so the visited buffer doesn't need to be cleared.
+     */
+    private void nextStamp() {
+        stamp++;
+
+        if(stamp == Integer.MAX_VALUE) {
+            Arrays.fill(visitedStamps, 0);
+            stamp = 1;
+        }
+    }
+
+    /**
+     * Ensures the buffers can hold every cell of the board.
+     * @param cellAmount the amount of cells
+     */
+    private void ensureCapacity(int cellAmount) {
+        if(frontier.length < cellAmount) {
+            frontier = new int[cellAmount];
+            visitedStamps = new int[cellAmount];
+            firstDirections = new byte[cellAmount];
+            stamp = 0;
+        }
+    }
+}
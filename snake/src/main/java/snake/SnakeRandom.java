@@ -0,0 +1,116 @@
+package snake;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A fast, seedable and unsynchronized random number generator based on SplitMix64.
+ * A generator can be split into independent generators, so every snake can have its own stream and the same seed
+ * always gives the same game no matter the order the snakes decide in.
+ * NOTE: A generator must not be shared between threads.
+ */
+public class SnakeRandom {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final AtomicLong SEEDER = new AtomicLong(mix64(System.currentTimeMillis()) ^ mix64(System.nanoTime()));
+    private long state;
+
+    /**
+     * Creates a generator with a seed that differs between generators and runs.
+     */
+    public SnakeRandom() {
+        this(nextSeed());
+    }
+
+    /**
+     * Creates a generator.
+     * @param seed the seed
+     */
+    public SnakeRandom(long seed) {
+        state = seed;
+    }
+
+    /**
+     * Gets a seed that differs between calls and runs.
+     * @return the seed
+     */
+    public static long nextSeed() {
+        return mix64(SEEDER.getAndAdd(GOLDEN_GAMMA));
+    }
+
+    /**
+     * Gets the next random long.
+     * @return the long
+     */
+    public long nextLong() {
+        state += GOLDEN_GAMMA;
+
+        return mix64(state);
+    }
+
+    /**
+     * Gets the next random int.
+     * @return the int
+     */
+    public int nextInt() {
+        return (int) (nextLong() >>> 32);
+    }
+
+    /**
+     * Gets the next random int between 0 inclusive and bound exclusive.
+     * @param bound the bound, must be positive
+     * @return the int
+     * @throws IllegalArgumentException if the bound is not positive
+     */
+    public int nextInt(int bound) {
+        if(bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+
+        int r = nextInt() >>> 1;
+        int m = bound - 1;
+
+        // powers of two take the high bits, other bounds reject the values that would bias the result
+        if((bound & m) == 0) {
+            return (int) ((bound * (long) r) >> 31);
+        }
+
+        for(int u = r; u - (r = u % bound) + m < 0; u = nextInt() >>> 1);
+
+        return r;
+    }
+
+    /**
+     * Splits off a new generator whose stream is independent of this one.
+     * @return the new generator
+     */
+    public SnakeRandom split() {
+        return new SnakeRandom(nextLong());
+    }
+
+    /**
+     * Gets the state so the generator can be restored later.
+     * @return the state
+     */
+    public long getState() {
+        return state;
+    }
+
+    /**
+     * Sets the state.
+     * @param state the state returned by getState
+     */
+    public void setState(long state) {
+        this.state = state;
+    }
+
+    /**
+     * Mixes the bits of a long.
+     * @param z the long
+     * @return the mixed long
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,133 @@
+package snake;
+
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+
+/**
+ * A snake shape.
+ */
+public class SnakeShape {
+    private Snake snake;
+    private Color color, darkerColor, deadColor, deadDarkerColor;
+    private Rectangle2D.Double snakeRect;
+
+    /**
+     * Creates a snake shape.
+     * @param snake the snake
+     * @param color the snake's color
+     */
+    public SnakeShape(Snake snake, Color color) {
+        this.snake = snake;
+        this.color = color;
+
+        // setup colors
+        int red = this.color.getRed();
+        int green = this.color.getGreen();
+        int blue = this.color.getBlue();
+        int alpha = this.color.getAlpha();
+        int maxAlpha = alpha;
+        int minAlpha = (int) (maxAlpha * (50.0 / 100.0));
+
+        darkerColor = new Color(red, green, blue, minAlpha);
+        deadColor = color.darker();
+        deadDarkerColor = darkerColor.darker();
+
+        snakeRect = new Rectangle2D.Double();
+    }
+
+    /**
+     * Draws the snake's tails.
+     * @param g2 the graphics2D
+     * @param width the snake's width
+     * @param height the snake's height
+     * @param xMin the snake's min x value
+     * @param yMin the snake's min y value
+     */
+    public void drawTails(Graphics2D g2, double width, double height, double xMin, double yMin) {
+        g2.setColor(snake.isDead() ? deadDarkerColor : darkerColor);
+        SnakeBody body = snake.getBody();
+        for(int i = 0; i < body.getLength(); i++) {
+            snakeRect.setRect(body.getX(i) * width + xMin, body.getY(i) * height + yMin, width, height);
+
+            g2.draw(snakeRect);
+        }
+    }
+
+    /**
+     * Draws the snake.
+     * @param g2 the graphics2D
+     * @param width the snake's width
+     * @param height the snake's height
+     * @param xMin the snake's min x value
+     * @param yMin the snake's min y value
+     */
+    public void draw(Graphics2D g2, double width, double height, double xMin, double yMin) {
+        // make snake darker on death
+        Color snakeColor = snake.isDead() ? deadColor : color;
+        Color tailColor = snake.isDead() ? deadDarkerColor : darkerColor;
+
+        // draw the snake's head
+        snakeRect.setRect(snake.position.x * width + xMin, snake.position.y * height + yMin, width, height);
+
+        g2.setColor(snakeColor);
+        g2.draw(snakeRect);
+
+        g2.setColor(tailColor);
+        g2.fill(snakeRect);
+
+        // draw the snake's tails
+        g2.setColor(tailColor);
+        SnakeBody body = snake.getBody();
+        for(int i = 0; i < body.getLength(); i++) {
+            snakeRect.setRect(body.getX(i) * width + xMin, body.getY(i) * height + yMin, width, height);
+
+            g2.draw(snakeRect);
+        }
+    }
+
+    /**
+     * Draws the snake's head at a cell, which can be between cells while the head moves.
+     * @param g2 the graphics2D
+     * @param x the cell's x value
+     * @param y the cell's y value
+     * @param width the snake's width
+     * @param height the snake's height
+     * @param xMin the snake's min x value
+     * @param yMin the snake's min y value
+     */
+    public void drawHead(Graphics2D g2, double x, double y, double width, double height, double xMin, double yMin) {
+        snakeRect.setRect(x * width + xMin, y * height + yMin, width, height);
+
+        g2.setColor(snake.isDead() ? deadColor : color);
+        g2.draw(snakeRect);
+
+        g2.setColor(snake.isDead() ? deadDarkerColor : darkerColor);
+        g2.fill(snakeRect);
+    }
+
+    /**
+     * Draws one of the snake's tails in a cell.
+     * @param g2 the graphics2D
+     * @param x the cell's x value
+     * @param y the cell's y value
+     * @param width the snake's width
+     * @param height the snake's height
+     * @param xMin the snake's min x value
+     * @param yMin the snake's min y value
+     */
+    public void drawTail(Graphics2D g2, int x, int y, double width, double height, double xMin, double yMin) {
+        snakeRect.setRect(x * width + xMin, y * height + yMin, width, height);
+
+        g2.setColor(snake.isDead() ? deadDarkerColor : darkerColor);
+        g2.draw(snakeRect);
+    }
+
+    /**
+     * Gets the snake.
+     * @return the snake
+     */
+    public Snake getSnake() {
+        return snake;
+    }
+}
+
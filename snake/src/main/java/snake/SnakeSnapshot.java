@@ -0,0 +1,114 @@
+package snake;
+
+import java.util.Arrays;
+
+/**
+ * A snapshot of a world's whole state in its compact varint form, which can be forked into independent worlds that
+ * play out the same as the world did from the snapshot on.
+ * Forking creates a world of the snapshot's size, while restoring reuses a world that was forked from a snapshot of
+ * the same world, so a lookahead search can keep a world per thread and restore it for every candidate future.
+ * NOTE: A snapshot can be forked and restored from any amount of threads at once, every world must stay on one thread.
+ * Listeners, the replay recorder and whether the AI decides in parallel are not part of the snapshot.
+ * A snapshot never changes, except the world's tick snapshot which the world retakes in place every tick.
+ */
+public class SnakeSnapshot {
+    private final Position minPosition, maxPosition;
+    private final int snakeAmount, teleporterAmount;
+    private final long seed;
+    private int foodAmount;
+    private long tick;
+    private byte[] bytes;
+    private int size;
+
+    /**
+     * Creates a snapshot.
+     * @param world the world the state was written from
+     * @param state the world's state, written by SnakeWorld.writeSnapshot
+     */
+    public SnakeSnapshot(SnakeWorld world, StateBuffer state) {
+        minPosition = world.getMinPosition();
+        maxPosition = world.getMaxPosition();
+        snakeAmount = world.getSnakeList().size();
+        teleporterAmount = world.getTeleporterList().size();
+        seed = world.getSeed();
+
+        take(world, Arrays.copyOf(state.getBytes(), state.size()), state.size());
+    }
+
+    /**
+     * Retakes the snapshot from the world it was taken from, keeping the state's bytes instead of copying them.
+     * NOTE: The snapshot changes whenever the state does, so the state must only be written while nothing reads it.
+     * @param world the world the state was written from
+     * @param state the world's state, written by SnakeWorld.writeSnapshot
+     */
+    void retake(SnakeWorld world, StateBuffer state) {
+        take(world, state.getBytes(), state.size());
+    }
+
+    /**
+     * Takes the parts of the snapshot that change from tick to tick.
+     * @param world the world the state was written from
+     * @param bytes the world's state
+     * @param size the amount of bytes the state takes
+     */
+    private void take(SnakeWorld world, byte[] bytes, int size) {
+        foodAmount = world.getFoodList().size();
+        tick = world.getTick();
+        this.bytes = bytes;
+        this.size = size;
+    }
+
+    /**
+     * Creates an independent world in the snapshot's state.
+     * @return the world
+     */
+    public SnakeWorld fork() {
+        SnakeWorld world = new SnakeWorld(minPosition, maxPosition, snakeAmount, foodAmount, teleporterAmount, seed);
+        restore(world);
+
+        return world;
+    }
+
+    /**
+     * Replaces a world's state with the snapshot's state.
+     * @param world the world, of the snapshot's size with the snapshot's amount of snakes and teleporters
+     * @throws IllegalArgumentException if the world doesn't match the snapshot
+     */
+    public void restore(SnakeWorld world) {
+        if(!matches(world)) {
+            throw new IllegalArgumentException("Snapshot of a " + minPosition + " to " + maxPosition + " world with " + snakeAmount
+                    + " snakes and " + teleporterAmount + " teleporters can't restore a " + world.getMinPosition() + " to "
+                    + world.getMaxPosition() + " world with " + world.getSnakeList().size() + " snakes and "
+                    + world.getTeleporterList().size() + " teleporters");
+        }
+
+        world.readSnapshot(bytes, size);
+    }
+
+    /**
+     * Checks if the snapshot can restore a world, that is if the world has the snapshot's size and amounts of snakes
+     * and teleporters. Foods are added or removed while restoring.
+     * @param world the world
+     * @return true if the snapshot can restore the world
+     */
+    public boolean matches(SnakeWorld world) {
+        return world.getMinPosition().equals(minPosition) && world.getMaxPosition().equals(maxPosition)
+                && world.getSnakeList().size() == snakeAmount && world.getTeleporterList().size() == teleporterAmount;
+    }
+
+    /**
+     * Gets the tick the snapshot was taken at.
+     * @return the tick
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Gets the amount of bytes the snapshot's state takes.
+     * @return the amount of bytes
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,43 @@
+package snake;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A flight recorder event for a snake going through a teleporter.
+ */
+@Name("snake.Teleport")
+@Label("Teleport")
+@Category("Snake")
+@Description("A snake going through a teleporter")
+@StackTrace(false)
+public class SnakeTeleportEvent extends Event {
+    private static final SnakeTeleportEvent PROBE = new SnakeTeleportEvent();
+
+    @Label("Snake")
+    int snake;
+
+    @Label("From X")
+    int fromX;
+
+    @Label("From Y")
+    int fromY;
+
+    @Label("To X")
+    int toX;
+
+    @Label("To Y")
+    int toY;
+
+    /**
+     * Checks if a recording has the event enabled, without creating an event.
+     * @return true if the event is recorded
+     */
+    public static boolean isRecorded() {
+        return PROBE.isEnabled();
+    }
+}
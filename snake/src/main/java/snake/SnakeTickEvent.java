@@ -0,0 +1,41 @@
+package snake;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A flight recorder event for a tick of a world, lasting from the first decision to the last move.
+ */
+@Name("snake.Tick")
+@Label("Tick")
+@Category("Snake")
+@Description("A tick of a snake world")
+@StackTrace(false)
+public class SnakeTickEvent extends Event {
+    private static final SnakeTickEvent PROBE = new SnakeTickEvent();
+
+    @Label("Tick")
+    @Description("The tick the world stepped to")
+    long tick;
+
+    @Label("Snakes")
+    int snakeAmount;
+
+    @Label("Alive Snakes")
+    int aliveSnakeAmount;
+
+    @Label("Foods")
+    int foodAmount;
+
+    /**
+     * Checks if a recording has the event enabled, without creating an event.
+     * @return true if the event is recorded
+     */
+    public static boolean isRecorded() {
+        return PROBE.isEnabled();
+    }
+}
@@ -0,0 +1,828 @@
+package snake;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A snake world.
+ * NOTE: The world does not depend on AWT or Swing so it can be stepped headless.
+ */
+public class SnakeWorld {
+    public static final int DEFAULT_FOOD_AMOUNT = 8, DEFAULT_TELEPORTER_AMOUNT = 4, DEFAULT_SNAKE_AMOUNT = 4, MIN_FOOD_AMOUNT = 1, DECISION_BATCH_SIZE = 4;
+    public static final int MIN_SIZE = 4, MAX_SIZE = 1 << 14, SPAWN_SPACING = 2;
+    private final Position minPosition, maxPosition;
+    private List<Teleporter> teleporterList;
+    private List<Food> foodList;
+    private List<Snake> snakeList;
+    private OccupancyGrid occupancyGrid;
+    private PositionCache positionCache;
+    private FoodIndex foodIndex;
+    private FoodClaimTable foodClaimTable;
+    private List<SnakeWorldListener> listenerList;
+    private ForkJoinPool decisionPool;
+    private boolean respawnOnDeath, parallelAI;
+    private int tickSnapshotUsers;
+    private StateBuffer tickSnapshotState, restoreState;
+    private long tick;
+    private final long seed;
+    private SnakeRandom placementRandom;
+    private ReplayRecorder replayRecorder;
+    private SnakeSnapshot tickSnapshot;
+
+    /**
+     * Creates a snake world with the default amount of teleporters, foods and four AI snakes.
+     * @param minPosition the world's min position
+     * @param maxPosition the world's max position
+     */
+    public SnakeWorld(Position minPosition, Position maxPosition) {
+        this(minPosition, maxPosition, DEFAULT_SNAKE_AMOUNT, DEFAULT_FOOD_AMOUNT, DEFAULT_TELEPORTER_AMOUNT);
+    }
+
+    /**
+     * Creates a snake world with its min position at 0, 0.
+     * @param width the world's width
+     * @param height the world's height
+     * @param snakeAmount the amount of AI snakes
+     * @param foodAmount the amount of foods
+     * @param teleporterAmount the amount of teleporters
+     */
+    public SnakeWorld(int width, int height, int snakeAmount, int foodAmount, int teleporterAmount) {
+        this(width, height, snakeAmount, foodAmount, teleporterAmount, SnakeRandom.nextSeed());
+    }
+
+    /**
+     * Creates a snake world with its min position at 0, 0 that plays out the same for the same seed and inputs.
+     * @param width the world's width
+     * @param height the world's height
+     * @param snakeAmount the amount of AI snakes
+     * @param foodAmount the amount of foods
+     * @param teleporterAmount the amount of teleporters
+     * @param seed the seed
+     */
+    public SnakeWorld(int width, int height, int snakeAmount, int foodAmount, int teleporterAmount, long seed) {
+        this(new Position(0, 0), new Position(width, height), snakeAmount, foodAmount, teleporterAmount, seed);
+    }
+
+    /**
+     * Creates a snake world.
+     * @param minPosition the world's min position
+     * @param maxPosition the world's max position
+     * @param snakeAmount the amount of AI snakes
+     * @param foodAmount the amount of foods
+     * @param teleporterAmount the amount of teleporters
+     */
+    public SnakeWorld(Position minPosition, Position maxPosition, int snakeAmount, int foodAmount, int teleporterAmount) {
+        this(minPosition, maxPosition, snakeAmount, foodAmount, teleporterAmount, SnakeRandom.nextSeed());
+    }
+
+    /**
+     * Creates a snake world that plays out the same for the same seed and inputs.
+     * NOTE: Up to four snakes spawn around the middle like the original game, more snakes spawn spread out over the board.
+     * Games are only reproducible as long as no AI strategy runs out of its time budget, see setAIBudget.
+     * @param minPosition the world's min position
+     * @param maxPosition the world's max position
+     * @param snakeAmount the amount of AI snakes
+     * @param foodAmount the amount of foods
+     * @param teleporterAmount the amount of teleporters
+     * @param seed the seed
+     * @throws IllegalArgumentException if the size is not between MIN_SIZE and MAX_SIZE, the world has more than
+     * OccupancyGrid.MAX_CELL_AMOUNT cells or the snakes or teleporters don't fit
+     */
+    public SnakeWorld(Position minPosition, Position maxPosition, int snakeAmount, int foodAmount, int teleporterAmount, long seed) {
+        int width = maxPosition.x - minPosition.x;
+        int height = maxPosition.y - minPosition.y;
+        if(width < MIN_SIZE || width > MAX_SIZE || height < MIN_SIZE || height > MAX_SIZE) {
+            throw new IllegalArgumentException("World size " + width + "x" + height + " is not between " + MIN_SIZE + " and " + MAX_SIZE);
+        }
+
+        if((long) width * height > OccupancyGrid.MAX_CELL_AMOUNT) {
+            throw new IllegalArgumentException("World size " + width + "x" + height + " has more than " + OccupancyGrid.MAX_CELL_AMOUNT + " cells");
+        }
+
+        if(snakeAmount < 0 || (long) snakeAmount * SPAWN_SPACING * SPAWN_SPACING > (long) width * height) {
+            throw new IllegalArgumentException(snakeAmount + " snakes don't fit in a " + width + "x" + height + " world");
+        }
+
+        // a teleporter's blocks need free cells of their own, foods can share cells once the board is full
+        if(teleporterAmount < 0 || snakeAmount + 2L * teleporterAmount > (long) width * height) {
+            throw new IllegalArgumentException(teleporterAmount + " teleporters don't fit in a " + width + "x" + height + " world with " + snakeAmount + " snakes");
+        }
+
+        this.minPosition = minPosition;
+        this.maxPosition = maxPosition;
+        this.seed = seed;
+
+        // every snake gets its own stream, the foods and teleporters share one since they only teleport while applying moves
+        SnakeRandom random = new SnakeRandom(seed);
+        placementRandom = random.split();
+
+        respawnOnDeath = false;
+        parallelAI = false;
+        tickSnapshotUsers = 0;
+        tickSnapshotState = null;
+        tickSnapshot = null;
+        decisionPool = ForkJoinPool.commonPool();
+        tick = 0;
+        listenerList = new ArrayList<>();
+        occupancyGrid = new OccupancyGrid(minPosition, maxPosition);
+        positionCache = new PositionCache(minPosition, maxPosition);
+        foodIndex = new FoodIndex(minPosition, maxPosition);
+        foodClaimTable = new FoodClaimTable();
+
+        // setup snake list first so the teleporters and foods don't spawn on the snakes, every snake shares the world's occupancy grid
+        teleporterList = new ArrayList<>();
+        foodList = new ArrayList<>();
+        snakeList = new ArrayList<>(snakeAmount);
+        for(int i = 0; i < snakeAmount; i++) {
+            snakeList.add(new Snake(getSpawnDirection(i, snakeAmount), getSpawnPosition(i, snakeAmount), minPosition, maxPosition, occupancyGrid, i));
+        }
+
+        for(int i = 0; i < snakeList.size(); i++) {
+            Snake snake = snakeList.get(i);
+
+            snake.attachRandom(random.split());
+            snake.attachPositionCache(positionCache);
+            snake.attachTeleporterList(teleporterList);
+            snake.attachFoodList(foodList);
+            snake.attachFoodIndex(foodIndex);
+            snake.attachFoodClaimTable(foodClaimTable);
+            snake.attachSnakeList(snakeList);
+            snake.attachWorld(this);
+            snake.toggleAIStatus();
+        }
+
+        // setup teleporter list
+        for(int i = 0; i < teleporterAmount; i++) {
+            Teleporter teleporter = new Teleporter(minPosition, maxPosition, placementRandom);
+            teleporter.attachOccupancyGrid(occupancyGrid);
+            teleporterList.add(teleporter);
+        }
+
+        // setup food list
+        for(int i = 0; i < Math.max(foodAmount, MIN_FOOD_AMOUNT); i++) {
+            addFood();
+        }
+    }
+
+    /**
+     * Gets the position a snake spawns at.
+     * Up to four snakes spawn in a square around the middle, more snakes spawn in evenly spaced rows over the board.
+     * @param index the snake's index
+     * @param snakeAmount the amount of snakes
+     * @return the spawn position
+     */
+    private Position getSpawnPosition(int index, int snakeAmount) {
+        if(snakeAmount <= DEFAULT_SNAKE_AMOUNT) {
+            int midX = (int) (maxPosition.x / 2.0 + maxPosition.x  % 2);
+            int midY = (int) (maxPosition.y  / 2.0 + maxPosition.y % 2);
+
+            return new Position(midX + (index % 2 == 0 ? -1 : 1), midY + (index < 2 ? -1 : 1));
+        }
+
+        int width = maxPosition.x - minPosition.x;
+        int height = maxPosition.y - minPosition.y;
+        int columns = getSpawnColumns(snakeAmount);
+        int rows = (snakeAmount + columns - 1) / columns;
+
+        // center each snake in its slot of the spawn grid
+        int column = index % columns;
+        int row = index / columns;
+        int x = minPosition.x + (int) ((column + 0.5) * width / columns);
+        int y = minPosition.y + (int) ((row + 0.5) * height / rows);
+
+        return new Position(x, y);
+    }
+
+    /**
+     * Gets the direction a snake spawns facing, the snakes in every other row face the other way.
+     * @param index the snake's index
+     * @param snakeAmount the amount of snakes
+     * @return the spawn direction
+     */
+    private int getSpawnDirection(int index, int snakeAmount) {
+        int columns = snakeAmount <= DEFAULT_SNAKE_AMOUNT ? 2 : getSpawnColumns(snakeAmount);
+
+        return (index / columns) % 2 == 0 ? Block.LEFT : Block.RIGHT;
+    }
+
+    /**
+     * Gets the amount of columns of the spawn grid so its slots are about square.
+     * @param snakeAmount the amount of snakes
+     * @return the amount of columns
+     */
+    private int getSpawnColumns(int snakeAmount) {
+        int width = maxPosition.x - minPosition.x;
+        int height = maxPosition.y - minPosition.y;
+        int columns = (int) Math.ceil(Math.sqrt((double) snakeAmount * width / height));
+
+        return Math.max(1, Math.min(columns, width / SPAWN_SPACING));
+    }
+
+    /**
+     * Advances the world by a tick and notifies the listeners.
+     * Every AI snake decides its direction against the unchanged world first, then the snakes move in order.
+     */
+    public void step() {
+        long time = SnakeMetrics.start();
+        SnakeTickEvent event = null;
+        if(SnakeTickEvent.isRecorded()) {
+            event = new SnakeTickEvent();
+            event.begin();
+        }
+
+        // the snapshot is taken before any snake decides, deciding changes the snakes' randoms
+        if(tickSnapshotUsers > 0) {
+            takeTickSnapshot();
+        }
+
+        // decide the AI directions, the world is read only until every snake has decided
+        if(parallelAI && snakeList.size() > DECISION_BATCH_SIZE) {
+            decisionPool.invoke(new DecisionTask(0, snakeList.size()));
+        }
+        else {
+            for(int i = 0; i < snakeList.size(); i++) {
+                snakeList.get(i).decideDirection();
+            }
+        }
+
+        // apply the moves in order so the result doesn't depend on the decision order
+        for(int i = 0; i < snakeList.size(); i++) {
+            snakeList.get(i).run(respawnOnDeath);
+        }
+
+        tick++;
+
+        if(replayRecorder != null) {
+            replayRecorder.endTick();
+        }
+
+        SnakeMetrics.record(SnakeMetrics.TICK, time);
+
+        if(event != null && event.shouldCommit()) {
+            commitTickEvent(event);
+        }
+
+        for(int i = 0; i < listenerList.size(); i++) {
+            listenerList.get(i).worldStepped(this);
+        }
+    }
+
+    /**
+     * Fills in and commits a flight recorder event for the last tick.
+     * @param event the event, begun before the tick
+     */
+    private void commitTickEvent(SnakeTickEvent event) {
+        int aliveSnakeAmount = 0;
+        for(int i = 0; i < snakeList.size(); i++) {
+            if(!snakeList.get(i).isDead()) {
+                aliveSnakeAmount++;
+            }
+        }
+
+        event.tick = tick;
+        event.snakeAmount = snakeList.size();
+        event.aliveSnakeAmount = aliveSnakeAmount;
+        event.foodAmount = foodList.size();
+        event.commit();
+    }
+
+    /**
+     * Advances the world by the given amount of ticks.
+     * @param amount the amount of ticks
+     */
+    public void step(long amount) {
+        for(long i = 0; i < amount; i++) {
+            step();
+        }
+    }
+
+    /**
+     * Respawns the snakes and teleports the foods and teleporters.
+     */
+    public void restart() {
+        for(Snake snake : snakeList) {
+            snake.respawn();
+        }
+
+        for(Food food : foodList) {
+            food.teleport();
+        }
+
+        for(Teleporter teleporter : teleporterList) {
+            teleporter.teleport();
+        }
+
+        if(replayRecorder != null) {
+            replayRecorder.recordWorldCommand(ReplayRecorder.RESTART);
+        }
+    }
+
+    /**
+     * Adds a food.
+     * @return the added food
+     */
+    public Food addFood() {
+        Food food = createFood();
+
+        if(replayRecorder != null) {
+            replayRecorder.recordWorldCommand(ReplayRecorder.ADD_FOOD);
+        }
+
+        return food;
+    }
+
+    /**
+     * Removes the last food.
+     * NOTE: The minimum food amount is MIN_FOOD_AMOUNT.
+     * @return the removed food, or null if no food was removed
+     */
+    public Food removeFood() {
+        int foodListSize = foodList.size();
+
+        if(foodListSize > MIN_FOOD_AMOUNT) {
+            Food removedFood = removeLastFood();
+
+            if(replayRecorder != null) {
+                replayRecorder.recordWorldCommand(ReplayRecorder.REMOVE_FOOD);
+            }
+
+            return removedFood;
+        }
+
+        return null;
+    }
+
+    /**
+     * Creates a food on a free cell and adds it to the food list.
+     * @return the food
+     */
+    private Food createFood() {
+        Food food = new Food(minPosition, maxPosition, placementRandom);
+        food.attachOccupancyGrid(occupancyGrid);
+        food.attachFoodIndex(foodIndex);
+        foodList.add(food);
+
+        return food;
+    }
+
+    /**
+     * Removes the last food from the food list and the board.
+     * @return the removed food
+     */
+    private Food removeLastFood() {
+        Food removedFood = foodList.remove(foodList.size() - 1);
+        removedFood.detachOccupancyGrid();
+        removedFood.detachFoodIndex();
+
+        // take the food from the snake that has it as its goal
+        foodClaimTable.remove(removedFood);
+
+        return removedFood;
+    }
+
+    /**
+     * Writes everything that decides how the world plays out from this tick on: the tick, the snakes, foods and
+     * teleporters and the placement random.
+     * NOTE: Listeners, the replay recorder and the AI settings are not part of the state.
+     * @param state the state to write to
+     */
+    public void writeState(StateBuffer state) {
+        state.writeVarint(tick);
+        state.writeBoolean(respawnOnDeath);
+        state.writeLong(placementRandom.getState());
+
+        state.writeVarint(snakeList.size());
+        for(int i = 0; i < snakeList.size(); i++) {
+            snakeList.get(i).writeState(state);
+        }
+
+        state.writeVarint(foodList.size());
+        for(int i = 0; i < foodList.size(); i++) {
+            foodList.get(i).writeState(state);
+        }
+
+        state.writeVarint(teleporterList.size());
+        for(int i = 0; i < teleporterList.size(); i++) {
+            teleporterList.get(i).writeState(state);
+        }
+    }
+
+    /**
+     * Replaces the world's state with the one written by writeState, the world then plays out the same as the world
+     * that wrote it. Foods are added or removed to match the written food amount.
+     * NOTE: The listeners are not notified and the replay recorder does not record the change.
+     * @param state the state to read from
+     * @throws IllegalArgumentException if the state was written by a world with a different amount of snakes or teleporters
+     */
+    public void readState(StateBuffer state) {
+        long stateTick = state.readVarint();
+        boolean stateRespawnOnDeath = state.readBoolean();
+        long placementState = state.readLong();
+
+        int snakeAmount = state.readInt();
+        if(snakeAmount != snakeList.size()) {
+            throw new IllegalArgumentException("State has " + snakeAmount + " snakes but the world has " + snakeList.size());
+        }
+
+        for(int i = 0; i < snakeList.size(); i++) {
+            snakeList.get(i).readState(state);
+        }
+
+        int foodAmount = state.readInt();
+        while(foodList.size() > foodAmount) {
+            removeLastFood();
+        }
+
+        while(foodList.size() < foodAmount) {
+            createFood();
+        }
+
+        for(int i = 0; i < foodList.size(); i++) {
+            foodList.get(i).readState(state);
+        }
+
+        int teleporterAmount = state.readInt();
+        if(teleporterAmount != teleporterList.size()) {
+            throw new IllegalArgumentException("State has " + teleporterAmount + " teleporters but the world has " + teleporterList.size());
+        }
+
+        for(int i = 0; i < teleporterList.size(); i++) {
+            teleporterList.get(i).readState(state);
+        }
+
+        placementRandom.setState(placementState);
+        respawnOnDeath = stateRespawnOnDeath;
+        tick = stateTick;
+    }
+
+    /**
+     * Takes a snapshot of the world that can be forked into independent worlds.
+     * @return the snapshot
+     */
+    public SnakeSnapshot snapshot() {
+        StateBuffer state = new StateBuffer();
+        writeSnapshot(state);
+
+        return new SnakeSnapshot(this, state);
+    }
+
+    /**
+     * Creates an independent world that plays out the same as this world from now on.
+     * @return the world
+     */
+    public SnakeWorld fork() {
+        return snapshot().fork();
+    }
+
+    /**
+     * Makes the world take a snapshot at the start of every tick, before the snakes decide, for an AI strategy that
+     * simulates the world, until the strategy releases the snapshots again.
+     * NOTE: The snapshots are taken for as long as any strategy that acquired them hasn't released them.
+     */
+    public void acquireTickSnapshots() {
+        tickSnapshotUsers++;
+    }
+
+    /**
+     * Releases the tick snapshots acquired by an AI strategy, the world stops taking them once no strategy needs them.
+     */
+    public void releaseTickSnapshots() {
+        if(tickSnapshotUsers > 0) {
+            tickSnapshotUsers--;
+        }
+
+        if(tickSnapshotUsers == 0) {
+            tickSnapshotState = null;
+            tickSnapshot = null;
+        }
+    }
+
+    /**
+     * Gets the snapshot taken at the start of the current tick.
+     * NOTE: The snapshot is retaken in place every tick, so it's only valid while the snakes decide in the tick.
+     * @return the snapshot, or null if no strategy acquired the snapshots or none was taken yet
+     */
+    public SnakeSnapshot getTickSnapshot() {
+        return tickSnapshot;
+    }
+
+    /**
+     * Takes the tick snapshot, reusing the state and the snapshot of the last tick.
+     */
+    private void takeTickSnapshot() {
+        if(tickSnapshotState == null) {
+            tickSnapshotState = new StateBuffer();
+        }
+
+        tickSnapshotState.clear();
+        writeSnapshot(tickSnapshotState);
+
+        if(tickSnapshot == null) {
+            tickSnapshot = new SnakeSnapshot(this, tickSnapshotState);
+        }
+        else {
+            tickSnapshot.retake(this, tickSnapshotState);
+        }
+    }
+
+    /**
+     * Sets whether or not the snakes keep their AI strategies when a snapshot is read, see Snake.setAIStrategyLocked.
+     * @param aiStrategyLocked true to keep the strategies
+     */
+    public void setAIStrategyLocked(boolean aiStrategyLocked) {
+        for(Snake snake : snakeList) {
+            snake.setAIStrategyLocked(aiStrategyLocked);
+        }
+    }
+
+    /**
+     * Sets how many of the newest moves of the snakes' rewind journals are read when a state is read, see
+     * Snake.setRestoredRewindDepth.
+     * @param restoredRewindDepth the max amount of moves, Integer.MAX_VALUE to read every move
+     */
+    public void setRestoredRewindDepth(int restoredRewindDepth) {
+        for(Snake snake : snakeList) {
+            snake.setRestoredRewindDepth(restoredRewindDepth);
+        }
+    }
+
+    /**
+     * Writes the world's state and who controls every snake, everything a copy of the world needs to play out the same.
+     * @param state the state to write to
+     */
+    public void writeSnapshot(StateBuffer state) {
+        writeState(state);
+
+        for(int i = 0; i < snakeList.size(); i++) {
+            snakeList.get(i).writeAIState(state);
+        }
+    }
+
+    /**
+     * Replaces the world's state and who controls every snake with the ones written by writeSnapshot.
+     * NOTE: The listeners are not notified and the replay recorder does not record the change.
+     * @param state the state to read from
+     */
+    public void readSnapshot(StateBuffer state) {
+        readState(state);
+
+        for(int i = 0; i < snakeList.size(); i++) {
+            snakeList.get(i).readAIState(state);
+        }
+    }
+
+    /**
+     * Replaces the world's state and who controls every snake with the ones written by writeSnapshot, reading them
+     * from the given bytes without copying them.
+     * NOTE: The buffer reading the bytes is reused, so restoring a snapshot doesn't allocate.
+     * @param bytes the bytes
+     * @param size the amount of bytes the state takes
+     */
+    void readSnapshot(byte[] bytes, int size) {
+        if(restoreState == null) {
+            restoreState = new StateBuffer(bytes, size);
+        }
+        else {
+            restoreState.wrap(bytes, size);
+        }
+
+        readSnapshot(restoreState);
+    }
+
+    /**
+     * Toggles respawn on death and respawns any dead snakes.
+     */
+    public void toggleRespawnOnDeath() {
+        respawnOnDeath = !respawnOnDeath;
+
+        // respawn any dead snakes
+        if(respawnOnDeath) {
+            for(Snake snake : snakeList) {
+                if(snake.isDead()) {
+                    snake.respawn();
+                }
+            }
+        }
+
+        if(replayRecorder != null) {
+            replayRecorder.recordWorldCommand(ReplayRecorder.TOGGLE_RESPAWN_ON_DEATH);
+        }
+    }
+
+    /**
+     * Respawns a snake.
+     * @param index the snake's index
+     */
+    public void respawnSnake(int index) {
+        snakeList.get(index).respawn();
+
+        if(replayRecorder != null) {
+            replayRecorder.recordSnakeCommand(ReplayRecorder.RESPAWN, index);
+        }
+    }
+
+    /**
+     * Sets whether or not a snake is rewinding.
+     * @param index the snake's index
+     * @param inRewind true to rewind
+     */
+    public void setRewind(int index, boolean inRewind) {
+        if(snakeList.get(index).isInRewind() == inRewind) {
+            return;
+        }
+
+        snakeList.get(index).setRewind(inRewind);
+
+        if(replayRecorder != null) {
+            replayRecorder.recordSnakeCommand(inRewind ? ReplayRecorder.REWIND_ON : ReplayRecorder.REWIND_OFF, index);
+        }
+    }
+
+    /**
+     * Attaches a replay recorder that records every tick and every command given to the world.
+     * NOTE: Snakes must be respawned and rewound through the world so the recorder sees it.
+     * @param replayRecorder the replay recorder, or null to stop recording
+     */
+    public void attachReplayRecorder(ReplayRecorder replayRecorder) {
+        this.replayRecorder = replayRecorder;
+    }
+
+    /**
+     * Sets every snake's AI strategy to a registered strategy.
+     * @param name the name the strategy is registered with in the SnakeAIRegistry
+     */
+    public void setAIStrategy(String name) {
+        for(Snake snake : snakeList) {
+            snake.setAIStrategy(name);
+        }
+    }
+
+    /**
+     * Sets the time an AI strategy gets per decision before the snake falls back to the probabilistic behavior.
+     * @param aiBudget the budget in nanoseconds
+     */
+    public void setAIBudget(long aiBudget) {
+        for(Snake snake : snakeList) {
+            snake.setAIBudget(aiBudget);
+        }
+    }
+
+    /**
+     * Sets the max amount of moves each snake can rewind.
+     * @param rewindDepth the max amount of moves
+     */
+    public void setRewindDepth(int rewindDepth) {
+        for(Snake snake : snakeList) {
+            snake.setRewindDepth(rewindDepth);
+        }
+    }
+
+    /**
+     * Sets whether or not the AI snakes decide their directions in parallel.
+     * NOTE: The result is the same as deciding sequentially as long as no AI strategy falls back on its time budget.
+     * @param parallelAI true to decide in parallel
+     */
+    public void setParallelAI(boolean parallelAI) {
+        this.parallelAI = parallelAI;
+    }
+
+    /**
+     * Sets the pool the AI snakes decide their directions in when deciding in parallel.
+     * @param decisionPool the pool
+     */
+    public void setDecisionPool(ForkJoinPool decisionPool) {
+        this.decisionPool = decisionPool;
+    }
+
+    /**
+     * Gets whether or not snakes respawn on death.
+     * @return true if snakes respawn on death
+     */
+    public boolean isRespawnOnDeath() {
+        return respawnOnDeath;
+    }
+
+    /**
+     * Adds a listener that is notified after every tick.
+     * @param listener the listener
+     */
+    public void addListener(SnakeWorldListener listener) {
+        listenerList.add(listener);
+    }
+
+    /**
+     * Removes a listener.
+     * @param listener the listener
+     */
+    public void removeListener(SnakeWorldListener listener) {
+        listenerList.remove(listener);
+    }
+
+    /**
+     * Gets the seed the world was created with.
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the amount of ticks this world has advanced.
+     * @return the amount of ticks
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Gets the occupancy grid.
+     * @return the occupancy grid
+     */
+    public OccupancyGrid getOccupancyGrid() {
+        return occupancyGrid;
+    }
+
+    /**
+     * Gets the food index.
+     * @return the food index
+     */
+    public FoodIndex getFoodIndex() {
+        return foodIndex;
+    }
+
+    /**
+     * Gets the min position.
+     * @return the min position
+     */
+    public Position getMinPosition() {
+        return minPosition;
+    }
+
+    /**
+     * Gets the max position.
+     * @return the max position
+     */
+    public Position getMaxPosition() {
+        return maxPosition;
+    }
+
+    /**
+     * Gets the teleporter list.
+     * @return the teleporter list
+     */
+    public List<Teleporter> getTeleporterList() {
+        return teleporterList;
+    }
+
+    /**
+     * Gets the food list.
+     * @return the food list
+     */
+    public List<Food> getFoodList() {
+        return foodList;
+    }
+
+    /**
+     * Gets the snake list.
+     * @return the snake list
+     */
+    public List<Snake> getSnakeList() {
+        return snakeList;
+    }
+
+    /**
+     * A task that decides the AI directions of a range of snakes, splitting the range across the pool.
+     */
+    private class DecisionTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int start, end;
+
+        /**
+         * Creates a decision task.
+         * @param start the index of the first snake
+         * @param end the index after the last snake
+         */
+        public DecisionTask(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * Decides the snakes' directions, or splits the range in two if it is too large.
+         */
+        @Override
+        protected void compute() {
+            if(end - start <= DECISION_BATCH_SIZE) {
+                for(int i = start; i < end; i++) {
+                    snakeList.get(i).decideDirection();
+                }
+            }
+            else {
+                int middle = (start + end) >>> 1;
+                invokeAll(new DecisionTask(start, middle), new DecisionTask(middle, end));
+            }
+        }
+    }
+}
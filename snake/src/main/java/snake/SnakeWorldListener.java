@@ -0,0 +1,12 @@
+package snake;
+
+/**
+ * A snake world listener.
+ */
+public interface SnakeWorldListener {
+    /**
+     * Called after the world has advanced by a tick.
+     * @param world the world that stepped
+     */
+    void worldStepped(SnakeWorld world);
+}
@@ -0,0 +1,307 @@
+package snake;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A growable byte buffer that world state is written to and read from as compact varints.
+ * NOTE: Reading past the written bytes throws an IllegalStateException since a state is always read whole.
+ */
+public class StateBuffer {
+    private static final int INITIAL_CAPACITY = 1 << 12;
+    private byte[] bytes;
+    private int size, position;
+
+    /**
+     * Creates an empty state buffer.
+     */
+    public StateBuffer() {
+        bytes = new byte[INITIAL_CAPACITY];
+        size = 0;
+        position = 0;
+    }
+
+    /**
+     * Creates a buffer that reads a state from the given bytes without copying them.
+     * NOTE: The bytes must not change while the state is read, many buffers can read the same bytes at once.
+     * @param bytes the bytes
+     * @param size the amount of bytes the state takes
+     */
+    public StateBuffer(byte[] bytes, int size) {
+        this.bytes = bytes;
+        this.size = size;
+        position = 0;
+    }
+
+    /**
+     * Makes the buffer read a state from the given bytes without copying them, see StateBuffer(byte[], int).
+     * @param bytes the bytes
+     * @param size the amount of bytes the state takes
+     */
+    public void wrap(byte[] bytes, int size) {
+        this.bytes = bytes;
+        this.size = size;
+        position = 0;
+    }
+
+    /**
+     * Removes every byte so a new state can be written.
+     */
+    public void clear() {
+        size = 0;
+        position = 0;
+    }
+
+    /**
+     * Makes room for a state of the given size and clears the buffer so the state's bytes can be copied into getBytes.
+     * @param size the size of the state
+     */
+    public void reset(int size) {
+        ensureCapacity(size);
+
+        this.size = size;
+        position = 0;
+    }
+
+    /**
+     * Gets the bytes backing this buffer, only the first size bytes are written.
+     * @return the bytes
+     */
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Gets the amount of bytes written.
+     * @return the amount of bytes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Writes a byte.
+     * @param value the byte
+     */
+    public void writeByte(int value) {
+        ensureCapacity(size + 1);
+        bytes[size++] = (byte) value;
+    }
+
+    /**
+     * Writes a boolean as a byte.
+     * @param value the boolean
+     */
+    public void writeBoolean(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+
+    /**
+     * Writes an unsigned varint, 7 bits per byte with the high bit set on every byte but the last.
+     * @param value the value
+     */
+    public void writeVarint(long value) {
+        while((value & ~0x7FL) != 0) {
+            writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+
+        writeByte((int) value);
+    }
+
+    /**
+     * Writes a signed varint, zigzag encoded so small negative values stay small.
+     * @param value the value
+     */
+    public void writeSignedVarint(long value) {
+        writeVarint((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Writes a big endian long, used for values like random states that are spread over every bit.
+     * @param value the value
+     */
+    public void writeLong(long value) {
+        for(int shift = Long.SIZE - 8; shift >= 0; shift -= 8) {
+            writeByte((int) (value >>> shift));
+        }
+    }
+
+    /**
+     * Writes a big endian int of four bytes, used for lengths that are only known once what they measure is written.
+     * @param value the value
+     */
+    public void writeFixedInt(int value) {
+        for(int shift = Integer.SIZE - 8; shift >= 0; shift -= 8) {
+            writeByte(value >>> shift);
+        }
+    }
+
+    /**
+     * Overwrites a big endian int written by writeFixedInt.
+     * @param offset the offset the int was written at, the size before it was written
+     * @param value the value
+     */
+    public void setFixedInt(int offset, int value) {
+        for(int i = 0; i < Integer.BYTES; i++) {
+            bytes[offset + i] = (byte) (value >>> (Integer.SIZE - 8 - i * 8));
+        }
+    }
+
+    /**
+     * Writes a string as its UTF-8 length and bytes.
+     * @param value the string
+     */
+    public void writeString(String value) {
+        byte[] stringBytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(stringBytes.length);
+
+        ensureCapacity(size + stringBytes.length);
+        System.arraycopy(stringBytes, 0, bytes, size, stringBytes.length);
+        size += stringBytes.length;
+    }
+
+    /**
+     * Reads a byte.
+     * @return the byte as an unsigned value
+     */
+    public int readByte() {
+        if(position >= size) {
+            throw new IllegalStateException("State ended after " + size + " bytes");
+        }
+
+        return bytes[position++] & 0xFF;
+    }
+
+    /**
+     * Reads a boolean.
+     * @return the boolean
+     */
+    public boolean readBoolean() {
+        return readByte() != 0;
+    }
+
+    /**
+     * Reads an unsigned varint.
+     * @return the value
+     */
+    public long readVarint() {
+        // most varints are cells and amounts of one or two bytes, read those without checking every byte
+        if(position + 2 <= size) {
+            int first = bytes[position];
+            if(first >= 0) {
+                position++;
+
+                return first;
+            }
+
+            int second = bytes[position + 1];
+            if(second >= 0) {
+                position += 2;
+
+                return (first & 0x7F) | (second << 7);
+            }
+        }
+
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while((b & 0x80) != 0);
+
+        return value;
+    }
+
+    /**
+     * Reads an unsigned varint that fits an int.
+     * @return the value
+     */
+    public int readInt() {
+        return (int) readVarint();
+    }
+
+    /**
+     * Reads a zigzag encoded signed varint.
+     * @return the value
+     */
+    public long readSignedVarint() {
+        long value = readVarint();
+
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Reads a big endian long.
+     * @return the value
+     */
+    public long readLong() {
+        long value = 0;
+        for(int i = 0; i < Long.BYTES; i++) {
+            value = (value << 8) | readByte();
+        }
+
+        return value;
+    }
+
+    /**
+     * Reads a big endian int written by writeFixedInt.
+     * @return the value
+     */
+    public int readFixedInt() {
+        int value = 0;
+        for(int i = 0; i < Integer.BYTES; i++) {
+            value = (value << 8) | readByte();
+        }
+
+        return value;
+    }
+
+    /**
+     * Gets the offset of the next byte to read.
+     * @return the offset
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * Skips bytes without reading them.
+     * @param amount the amount of bytes
+     */
+    public void skip(int amount) {
+        if(amount < 0 || amount > size - position) {
+            throw new IllegalStateException("State ended after " + size + " bytes");
+        }
+
+        position += amount;
+    }
+
+    /**
+     * Reads a string written by writeString.
+     * @return the string
+     */
+    public String readString() {
+        int length = readInt();
+        if(length > size - position) {
+            throw new IllegalStateException("State ended after " + size + " bytes");
+        }
+
+        String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+        position += length;
+
+        return value;
+    }
+
+    /**
+     * Ensures the buffer can hold the given amount of bytes.
+     * @param capacity the amount of bytes
+     */
+    private void ensureCapacity(int capacity) {
+        if(capacity > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(capacity, bytes.length * 2));
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package snake;
+
+/**
+ * A teleporter.
+ */
+public class Teleporter {
+    protected Block entranceBlock, exitBlock;
+    private OccupancyGrid occupancyGrid;
+
+    /**
+     * Creates a teleporter.
+     * @param minPosition the teleporter's min position
+     * @param maxPosition the teleporter's max position
+     * @param random the random number generator shared by the teleporter's blocks
+     */
+    public Teleporter(Position minPosition, Position maxPosition, SnakeRandom random) {
+        entranceBlock = new Block(minPosition, maxPosition);
+        exitBlock = new Block(minPosition, maxPosition);
+        attachRandom(random);
+
+        teleport();
+    }
+
+    /**
+     * Attaches an occupancy grid that tracks the teleporter's cells and teleports the blocks to cells nothing occupies.
+     * NOTE: The blocks are placed before they are added so where they were before doesn't affect the grid.
+     * @param occupancyGrid the occupancy grid
+     * @throws IllegalStateException if the occupancy grid has no free cell for a block
+     */
+    public void attachOccupancyGrid(OccupancyGrid occupancyGrid) {
+        this.occupancyGrid = occupancyGrid;
+
+        // the entrance occupies its cell so the exit never lands on it
+        checkFreeCell();
+        entranceBlock.teleportToFreeCell(occupancyGrid);
+        addToOccupancyGrid(entranceBlock);
+        checkFreeCell();
+        exitBlock.teleportToFreeCell(occupancyGrid);
+        addToOccupancyGrid(exitBlock);
+    }
+
+    /**
+     * Attaches a random number generator shared by the teleporter's blocks.
+     * @param random the random number generator
+     */
+    public void attachRandom(SnakeRandom random) {
+        entranceBlock.attachRandom(random);
+        exitBlock.attachRandom(random);
+    }
+
+    /**
+     * Teleports the teleporters.
+     * NOTE: With an occupancy grid attached the blocks only teleport to cells nothing occupies.
+     * @throws IllegalStateException if the occupancy grid has no free cell for a block
+     */
+    public void teleport() {
+        teleport(entranceBlock);
+        teleport(exitBlock);
+    }
+
+    /**
+     * Teleports a teleporter block to a cell nothing occupies, the other block occupies its cell so it's never picked.
+     * NOTE: Without an occupancy grid the block teleports to any position, which can be the other block's.
+     * @param block the teleporter block
+     * @throws IllegalStateException if the occupancy grid has no free cell
+     */
+    private void teleport(Block block) {
+        checkFreeCell();
+
+        removeFromOccupancyGrid(block);
+        block.teleportToFreeCell(occupancyGrid);
+        addToOccupancyGrid(block);
+    }
+
+    /**
+     * Checks that the occupancy grid has a free cell to teleport a block to.
+     * @throws IllegalStateException if the occupancy grid has no free cell
+     */
+    private void checkFreeCell() {
+        if(occupancyGrid != null && occupancyGrid.getFreeCellAmount() == 0) {
+            throw new IllegalStateException("No free cell to teleport a teleporter block to");
+        }
+    }
+
+    /**
+     * Writes the positions of the teleporter's blocks.
+     * @param state the state to write to
+     */
+    public void writeState(StateBuffer state) {
+        state.writeSignedVarint(entranceBlock.position.x);
+        state.writeSignedVarint(entranceBlock.position.y);
+        state.writeSignedVarint(exitBlock.position.x);
+        state.writeSignedVarint(exitBlock.position.y);
+    }
+
+    /**
+     * Moves the teleporter's blocks to the positions written by writeState.
+     * @param state the state to read from
+     */
+    public void readState(StateBuffer state) {
+        readState(state, entranceBlock);
+        readState(state, exitBlock);
+    }
+
+    /**
+     * Moves a teleporter block to the position written by writeState.
+     * @param state the state to read from
+     * @param block the teleporter block
+     */
+    private void readState(StateBuffer state, Block block) {
+        removeFromOccupancyGrid(block);
+        block.position.x = (int) state.readSignedVarint();
+        block.position.y = (int) state.readSignedVarint();
+        addToOccupancyGrid(block);
+    }
+
+    /**
+     * Adds a teleporter block to the occupancy grid.
+     * @param block the teleporter block
+     */
+    private void addToOccupancyGrid(Block block) {
+        if(occupancyGrid != null) {
+            occupancyGrid.addTeleporter(occupancyGrid.getCell(block.position));
+        }
+    }
+
+    /**
+     * Removes a teleporter block from the occupancy grid.
+     * @param block the teleporter block
+     */
+    private void removeFromOccupancyGrid(Block block) {
+        if(occupancyGrid != null) {
+            occupancyGrid.removeTeleporter(occupancyGrid.getCell(block.position));
+        }
+    }
+
+    /**
+     * Gets the other teleporter block.
+     * @param block the block to check
+     * @return the other teleporter block, or the passed in block if its not one of the teleporter's blocks
+     * @throws IllegalStateException if the occupancy grid has no free cell for the other block
+     */
+    public boolean teleportOtherBlock(Block block) {
+        if(block.equals(entranceBlock)) {
+            teleport(exitBlock);
+
+            return true;
+        }
+        else if(block.equals(exitBlock)) {
+            teleport(entranceBlock);
+
+            return true;
+        }
+
+        return false;
+    }
+}
@@ -1,3 +1,5 @@
+package snake;
+
 import java.awt.*;
 import java.awt.geom.Rectangle2D;
 
@@ -39,5 +41,35 @@ public class TeleporterShape {
         g2.fill(entranceTeleporterRect);
         g2.fill(exitTeleporterRect);
     }
+
+    /**
+     * Draws the teleporter's blocks that are in a cell.
+     * @param g2 the graphics2D
+     * @param x the cell's x value
+     * @param y the cell's y value
+     * @param width the teleporter's width
+     * @param height the teleporter's height
+     * @param xMin the teleporter's min x value
+     * @param yMin the teleporter's min y value
+     */
+    public void drawCell(Graphics2D g2, int x, int y, double width, double height, double xMin, double yMin) {
+        Position entrance = teleporter.entranceBlock.position;
+        Position exit = teleporter.exitBlock.position;
+        if((entrance.x != x || entrance.y != y) && (exit.x != x || exit.y != y)) {
+            return;
+        }
+
+        g2.setColor(color);
+        entranceTeleporterRect.setRect(x * width + xMin, y * height + yMin, width, height);
+
+        // both blocks in the same cell are filled twice like draw does
+        if(entrance.x == x && entrance.y == y) {
+            g2.fill(entranceTeleporterRect);
+        }
+
+        if(exit.x == x && exit.y == y) {
+            g2.fill(entranceTeleporterRect);
+        }
+    }
 }
 
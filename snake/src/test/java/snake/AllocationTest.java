@@ -0,0 +1,79 @@
+package snake;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the tick, with the AI deciding and every snake moving, and restoring a snapshot don't allocate once the
+ * JIT compiled them.
+ */
+public class AllocationTest {
+    public static final int WARMUP_TICKS = 20000, MEASURED_TICKS = 10000, WARMUP_RESTORES = 20000,
+            MEASURED_RESTORES = 10000, MEASUREMENTS = 3;
+    public static final long ALLOWED_BYTES = 1024;
+
+    @Test
+    public void stepDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threadBean = getThreadBean();
+
+        SnakeWorld world = new SnakeWorld(64, 64, 4, 8, 4, 42);
+        world.toggleRespawnOnDeath();
+        world.step(WARMUP_TICKS);
+
+        // take the smallest of a few measurements so a late compilation doesn't fail the test
+        long thread = Thread.currentThread().getId();
+        long allocated = Long.MAX_VALUE;
+        for(int i = 0; i < MEASUREMENTS; i++) {
+            long start = threadBean.getThreadAllocatedBytes(thread);
+            world.step(MEASURED_TICKS);
+            allocated = Math.min(allocated, threadBean.getThreadAllocatedBytes(thread) - start);
+        }
+
+        assertTrue(allocated <= ALLOWED_BYTES, allocated + " bytes allocated in " + MEASURED_TICKS + " ticks");
+    }
+
+    @Test
+    public void restoreDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threadBean = getThreadBean();
+
+        SnakeWorld world = new SnakeWorld(64, 64, 4, 8, 4, 42);
+        world.toggleRespawnOnDeath();
+        world.step(WARMUP_TICKS);
+
+        SnakeSnapshot snapshot = world.snapshot();
+        SnakeWorld fork = snapshot.fork();
+        for(int i = 0; i < WARMUP_RESTORES; i++) {
+            fork.step();
+            snapshot.restore(fork);
+        }
+
+        // the step in between makes every restore change the fork back, stepping doesn't allocate either
+        long thread = Thread.currentThread().getId();
+        long allocated = Long.MAX_VALUE;
+        for(int i = 0; i < MEASUREMENTS; i++) {
+            long start = threadBean.getThreadAllocatedBytes(thread);
+            for(int j = 0; j < MEASURED_RESTORES; j++) {
+                fork.step();
+                snapshot.restore(fork);
+            }
+            allocated = Math.min(allocated, threadBean.getThreadAllocatedBytes(thread) - start);
+        }
+
+        assertTrue(allocated <= ALLOWED_BYTES, allocated + " bytes allocated in " + MEASURED_RESTORES + " restores");
+    }
+
+    /**
+     * Gets the thread bean measuring the allocations, skipping the test if the JVM doesn't measure them.
+     * @return the thread bean
+     */
+    private static com.sun.management.ThreadMXBean getThreadBean() {
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled());
+
+        return threadBean;
+    }
+}
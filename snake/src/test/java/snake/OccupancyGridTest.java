@@ -0,0 +1,132 @@
+package snake;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+/**
+ * Checks that the occupancy grid picks random free cells only from the cells that are free, and only depending on
+ * which cells are free, and that it rejects boards and block counts it can't hold.
+ */
+public class OccupancyGridTest {
+    public static final int WIDTH = 13, HEIGHT = 11, PICKS = 20000;
+    public static final long SEED = 42;
+
+    @Test
+    public void picksEveryFreeCellAndNothingElse() {
+        OccupancyGrid grid = createGrid();
+        occupy(grid, false);
+
+        boolean[] picked = new boolean[grid.getCellAmount()];
+        SnakeRandom random = new SnakeRandom(SEED);
+        for(int i = 0; i < PICKS; i++) {
+            int cell = grid.getRandomFreeCell(random);
+            assertTrue(grid.isFree(cell), "cell " + cell + " is occupied");
+            picked[cell] = true;
+        }
+
+        for(int cell = 0; cell < grid.getCellAmount(); cell++) {
+            assertEquals(grid.isFree(cell), picked[cell], "cell " + cell);
+        }
+    }
+
+    @Test
+    public void pickDoesNotDependOnOrder() {
+        OccupancyGrid forwards = createGrid();
+        OccupancyGrid backwards = createGrid();
+        occupy(forwards, false);
+        occupy(backwards, true);
+        assertEquals(forwards.getFreeCellAmount(), backwards.getFreeCellAmount());
+
+        SnakeRandom forwardsRandom = new SnakeRandom(SEED);
+        SnakeRandom backwardsRandom = new SnakeRandom(SEED);
+        for(int i = 0; i < PICKS; i++) {
+            assertEquals(forwards.getRandomFreeCell(forwardsRandom), backwards.getRandomFreeCell(backwardsRandom), "pick " + i);
+        }
+    }
+
+    @Test
+    public void fullGridHasNoFreeCell() {
+        OccupancyGrid grid = createGrid();
+        for(int cell = 0; cell < grid.getCellAmount(); cell++) {
+            grid.addFood(cell);
+        }
+
+        assertEquals(0, grid.getFreeCellAmount());
+        assertEquals(OccupancyGrid.OUT_OF_BOUNDS, grid.getRandomFreeCell(new SnakeRandom(SEED)));
+    }
+
+    @Test
+    public void overflowingBoardIsRejected() {
+        // 65536 * 65536 overflows an int to 0 cells
+        assertThrows(IllegalArgumentException.class, new Executable() {
+            @Override
+            public void execute() {
+                new OccupancyGrid(new Position(0, 0), new Position(1 << 16, 1 << 16));
+            }
+        });
+    }
+
+    @Test
+    public void fullCellRejectsAnotherBlock() {
+        final OccupancyGrid grid = createGrid();
+        for(int i = 0; i < OccupancyGrid.MAX_BLOCKS_PER_CELL; i++) {
+            grid.addFood(0);
+        }
+
+        assertThrows(IllegalStateException.class, new Executable() {
+            @Override
+            public void execute() {
+                grid.addFood(0);
+            }
+        });
+
+        for(int i = 0; i < OccupancyGrid.MAX_BLOCKS_PER_CELL; i++) {
+            assertTrue(grid.hasFood(0), "food " + i);
+            grid.removeFood(0);
+        }
+        assertTrue(grid.isFree(0));
+    }
+
+    /**
+     * Creates a grid whose cell amount isn't a multiple of a word of free cells.
+     * @return the grid
+     */
+    private static OccupancyGrid createGrid() {
+        return new OccupancyGrid(new Position(0, 0), new Position(WIDTH, HEIGHT));
+    }
+
+    /**
+     * Occupies every third cell with a tail, every fifth with a food and every seventh with a teleporter, then frees
+     * the tails of every sixth cell again.
+     * @param grid the grid
+     * @param backwards true to change the cells from the last one to the first
+     */
+    private static void occupy(OccupancyGrid grid, boolean backwards) {
+        int cellAmount = grid.getCellAmount();
+        for(int i = 0; i < cellAmount; i++) {
+            int cell = backwards ? cellAmount - 1 - i : i;
+            if(cell % 3 == 0) {
+                grid.addSnake(0, cell);
+            }
+
+            if(cell % 5 == 0) {
+                grid.addFood(cell);
+            }
+
+            if(cell % 7 == 0) {
+                grid.addTeleporter(cell);
+            }
+        }
+
+        for(int i = 0; i < cellAmount; i++) {
+            int cell = backwards ? cellAmount - 1 - i : i;
+            if(cell % 6 == 0) {
+                grid.removeSnake(0, cell);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package snake;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that deciding the AI snakes' directions in parallel plays the same game as deciding them one after another.
+ */
+public class ParallelDecisionTest {
+    public static final int WIDTH = 64, HEIGHT = 64, SNAKE_AMOUNT = 40, FOOD_AMOUNT = 32, TELEPORTER_AMOUNT = 4, TICKS = 2000;
+    public static final int ROLLOUT_SIZE = 24, ROLLOUT_SNAKE_AMOUNT = 8, ROLLOUT_FOOD_AMOUNT = 8, ROLLOUT_TICKS = 60;
+    public static final long SEED = 42;
+
+    @Test
+    public void parallelMatchesSequential() {
+        for(String strategy : new String[] {SnakeAIRegistry.PROBABILISTIC, SnakeAIRegistry.PATHFINDING}) {
+            SnakeWorld sequential = createWorld(strategy, false);
+            SnakeWorld parallel = createWorld(strategy, true);
+
+            for(int tick = 1; tick <= TICKS; tick++) {
+                sequential.step();
+                parallel.step();
+                assertSameState(sequential, parallel, strategy + " tick " + tick);
+            }
+        }
+    }
+
+    @Test
+    public void parallelRolloutMatchesSequential() {
+        SnakeWorld sequential = createRolloutWorld(false);
+        SnakeWorld parallel = createRolloutWorld(true);
+
+        for(int tick = 1; tick <= ROLLOUT_TICKS; tick++) {
+            sequential.step();
+            parallel.step();
+            assertSameState(sequential, parallel, SnakeAIRegistry.ROLLOUT + " tick " + tick);
+        }
+    }
+
+    /**
+     * Creates a small world of rollout AI snakes that never run out of decision time, so every playout finishes.
+     * NOTE: The rollout AI plays out a whole world per candidate move, so the world is kept small to keep the test fast.
+     * @param parallelAI true to decide in parallel
+     * @return the world
+     */
+    private static SnakeWorld createRolloutWorld(boolean parallelAI) {
+        SnakeWorld world = new SnakeWorld(ROLLOUT_SIZE, ROLLOUT_SIZE, ROLLOUT_SNAKE_AMOUNT, ROLLOUT_FOOD_AMOUNT, TELEPORTER_AMOUNT, SEED);
+        world.toggleRespawnOnDeath();
+        world.setAIStrategy(SnakeAIRegistry.ROLLOUT);
+        world.setAIBudget(Long.MAX_VALUE);
+        world.setParallelAI(parallelAI);
+        return world;
+    }
+
+    /**
+     * Creates a world with many AI snakes that never run out of decision time.
+     * @param strategy the AI strategy
+     * @param parallelAI true to decide in parallel
+     * @return the world
+     */
+    private static SnakeWorld createWorld(String strategy, boolean parallelAI) {
+        SnakeWorld world = new SnakeWorld(WIDTH, HEIGHT, SNAKE_AMOUNT, FOOD_AMOUNT, TELEPORTER_AMOUNT, SEED);
+        world.toggleRespawnOnDeath();
+        world.setAIStrategy(strategy);
+        world.setAIBudget(Long.MAX_VALUE);
+        world.setParallelAI(parallelAI);
+        return world;
+    }
+
+    /**
+     * Asserts that two worlds have their snakes and foods in the same places.
+     * @param expected the world deciding sequentially
+     * @param actual the world deciding in parallel
+     * @param message the message to fail with
+     */
+    static void assertSameState(SnakeWorld expected, SnakeWorld actual, String message) {
+        List<Snake> expectedSnakes = expected.getSnakeList(), actualSnakes = actual.getSnakeList();
+        assertEquals(expectedSnakes.size(), actualSnakes.size(), message);
+        for(int i = 0; i < expectedSnakes.size(); i++) {
+            Snake expectedSnake = expectedSnakes.get(i), actualSnake = actualSnakes.get(i);
+            assertEquals(expectedSnake.isDead(), actualSnake.isDead(), message + " snake " + i);
+            assertEquals(expectedSnake.position.x, actualSnake.position.x, message + " snake " + i);
+            assertEquals(expectedSnake.position.y, actualSnake.position.y, message + " snake " + i);
+
+            SnakeBody expectedBody = expectedSnake.getBody(), actualBody = actualSnake.getBody();
+            assertEquals(expectedBody.size(), actualBody.size(), message + " snake " + i);
+            assertEquals(expectedBody.getLength(), actualBody.getLength(), message + " snake " + i);
+            for(int j = 0; j < expectedBody.getLength(); j++) {
+                assertEquals(expectedBody.get(j), actualBody.get(j), message + " snake " + i + " cell " + j);
+            }
+        }
+
+        List<Food> expectedFoods = expected.getFoodList(), actualFoods = actual.getFoodList();
+        assertEquals(expectedFoods.size(), actualFoods.size(), message);
+        for(int i = 0; i < expectedFoods.size(); i++) {
+            assertEquals(expectedFoods.get(i).position.x, actualFoods.get(i).position.x, message + " food " + i);
+            assertEquals(expectedFoods.get(i).position.y, actualFoods.get(i).position.y, message + " food " + i);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package snake;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Checks that a replay plays back, and seeks back and forth through, exactly what the recorded world showed.
+ */
+public class ReplayTest {
+    public static final int WIDTH = 48, HEIGHT = 32, SNAKE_AMOUNT = 6, FOOD_AMOUNT = 8, TELEPORTER_AMOUNT = 4;
+    public static final int TICKS = 3000, KEYFRAME_INTERVAL = 256;
+    public static final long SEED = 42;
+    public static final long[] SEEK_TICKS = {TICKS / 2, 1, KEYFRAME_INTERVAL, KEYFRAME_INTERVAL - 1, KEYFRAME_INTERVAL + 1, 0,
+            TICKS - 1, TICKS / 3, TICKS, 7 * KEYFRAME_INTERVAL + 13, 2 * KEYFRAME_INTERVAL};
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void replayMatchesLiveWorld() throws IOException {
+        Path path = directory.resolve("test.replay");
+        List<int[]> liveStates = record(path);
+
+        ReplayPlayer player = new ReplayPlayer(path);
+        try {
+            SnakeWorld world = player.getWorld();
+            assertArrayEquals(liveStates.get(0), getVisibleState(world), "tick 0");
+
+            // play to the end
+            while(player.step()) {
+                assertArrayEquals(liveStates.get((int) world.getTick()), getVisibleState(world), "tick " + world.getTick());
+            }
+            assertTrue(player.isEnded());
+            assertEquals(TICKS, world.getTick());
+
+            // seek backwards and forwards
+            for(long tick : SEEK_TICKS) {
+                assertTrue(player.seek(tick), "seek to " + tick);
+                assertEquals(tick, world.getTick());
+                assertArrayEquals(liveStates.get((int) tick), getVisibleState(world), "seek to " + tick);
+            }
+
+            assertFalse(player.seek(TICKS + 1));
+        }
+        finally {
+            player.close();
+        }
+    }
+
+    @Test
+    public void cutOffReplaySeeksWithinWhatWasWritten() throws IOException {
+        Path path = directory.resolve("cut-off.replay");
+        List<int[]> liveStates = record(path);
+
+        // the index keeps the entries of the keyframes that were cut off
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() / 2);
+        }
+
+        ReplayPlayer player = new ReplayPlayer(path);
+        try {
+            SnakeWorld world = player.getWorld();
+            assertFalse(player.seek(TICKS));
+            long endTick = world.getTick();
+            assertTrue(endTick > 0 && endTick < TICKS);
+            assertArrayEquals(liveStates.get((int) endTick), getVisibleState(world), "end at " + endTick);
+
+            assertTrue(player.seek(KEYFRAME_INTERVAL + 1));
+            assertArrayEquals(liveStates.get(KEYFRAME_INTERVAL + 1), getVisibleState(world), "seek to " + (KEYFRAME_INTERVAL + 1));
+        }
+        finally {
+            player.close();
+        }
+    }
+
+    /**
+     * Records a live world, with a few commands given between ticks, and remembers what it showed every tick.
+     * @param path the replay file
+     * @return the visible states indexed by tick
+     * @throws IOException if the replay can't be written
+     */
+    private static List<int[]> record(Path path) throws IOException {
+        SnakeWorld world = new SnakeWorld(WIDTH, HEIGHT, SNAKE_AMOUNT, FOOD_AMOUNT, TELEPORTER_AMOUNT, SEED);
+        world.toggleRespawnOnDeath();
+
+        List<int[]> states = new ArrayList<>(TICKS + 1);
+        ReplayRecorder recorder = new ReplayRecorder(world, path, KEYFRAME_INTERVAL);
+        try {
+            states.add(getVisibleState(world));
+            for(int tick = 1; tick <= TICKS; tick++) {
+                if(tick == TICKS / 4) {
+                    world.addFood();
+                }
+                else if(tick == TICKS / 2) {
+                    world.removeFood();
+                }
+                else if(tick == 3 * TICKS / 4) {
+                    world.toggleRespawnOnDeath();
+                }
+
+                world.step();
+                states.add(getVisibleState(world));
+            }
+        }
+        finally {
+            recorder.close();
+        }
+
+        return states;
+    }
+
+    /**
+     * Gets what a panel would show of a world: every snake's tails on the board and whether it's dead, and the foods and
+     * teleporters.
+     * @param world the world
+     * @return the visible state
+     */
+    private static int[] getVisibleState(SnakeWorld world) {
+        List<Integer> state = new ArrayList<>();
+
+        for(Snake snake : world.getSnakeList()) {
+            SnakeBody body = snake.getBody();
+            state.add(snake.isDead() ? 1 : 0);
+            state.add(snake.position.x);
+            state.add(snake.position.y);
+            state.add(body.size());
+            for(int i = 0; i < body.getLength(); i++) {
+                state.add(body.get(i));
+            }
+        }
+
+        state.add(world.getFoodList().size());
+        for(Food food : world.getFoodList()) {
+            state.add(food.position.x);
+            state.add(food.position.y);
+        }
+
+        for(Teleporter teleporter : world.getTeleporterList()) {
+            state.add(teleporter.entranceBlock.position.x);
+            state.add(teleporter.entranceBlock.position.y);
+            state.add(teleporter.exitBlock.position.x);
+            state.add(teleporter.exitBlock.position.y);
+        }
+
+        int[] array = new int[state.size()];
+        for(int i = 0; i < array.length; i++) {
+            array[i] = state.get(i);
+        }
+
+        return array;
+    }
+}
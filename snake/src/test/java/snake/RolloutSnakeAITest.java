@@ -0,0 +1,101 @@
+package snake;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the world takes tick snapshots exactly while a rollout AI is installed on any of its snakes, and that the
+ * playout worlds, which only restore the newest moves of the rewind journals, rewind like the world they copy.
+ */
+public class RolloutSnakeAITest {
+    public static final int WIDTH = 32, HEIGHT = 32, SNAKE_AMOUNT = 2, FOOD_AMOUNT = 8, TELEPORTER_AMOUNT = 4;
+    public static final int WARMUP_TICKS = 500, REWIND_TICKS = RolloutSnakeAI.HORIZON;
+    public static final long SEED = 42;
+
+    @Test
+    public void snapshotsAreTakenWhileInstalled() {
+        SnakeWorld world = createWorld();
+        List<Snake> snakeList = world.getSnakeList();
+
+        world.step();
+        assertNull(world.getTickSnapshot(), "no strategy acquired the snapshots");
+
+        world.setAIStrategy(SnakeAIRegistry.ROLLOUT);
+        assertTickSnapshot(world, "both snakes use the rollout AI");
+
+        snakeList.get(0).setAIStrategy(SnakeAIRegistry.PATHFINDING);
+        assertTickSnapshot(world, "one snake still uses the rollout AI");
+
+        snakeList.get(1).setAIStrategy(SnakeAIRegistry.PROBABILISTIC);
+        assertNull(world.getTickSnapshot(), "the last rollout AI was replaced");
+
+        world.step();
+        assertNull(world.getTickSnapshot(), "no strategy acquired the snapshots again");
+    }
+
+    @Test
+    public void releaseOnlyReleasesOnce() {
+        SnakeWorld world = createWorld();
+        List<Snake> snakeList = world.getSnakeList();
+
+        snakeList.get(1).setAIStrategy(SnakeAIRegistry.ROLLOUT);
+        RolloutSnakeAI rolloutAI = new RolloutSnakeAI(snakeList.get(0));
+        rolloutAI.release();
+        rolloutAI.release();
+        assertTickSnapshot(world, "the installed rollout AI still needs the snapshots");
+
+        snakeList.get(1).setAIStrategy(SnakeAIRegistry.PROBABILISTIC);
+        assertNull(world.getTickSnapshot(), "every rollout AI was released");
+
+        world.step();
+        assertNull(world.getTickSnapshot(), "no strategy acquired the snapshots again");
+    }
+
+    @Test
+    public void restoredRewindDepthRewindsLikeTheWholeJournal() {
+        SnakeWorld world = createWorld();
+        world.step(WARMUP_TICKS);
+
+        SnakeSnapshot snapshot = world.snapshot();
+        SnakeWorld whole = snapshot.fork();
+        SnakeWorld newest = snapshot.fork();
+        newest.setRestoredRewindDepth(REWIND_TICKS);
+        snapshot.restore(newest);
+
+        whole.setRewind(0, true);
+        newest.setRewind(0, true);
+        for(int tick = 1; tick <= REWIND_TICKS; tick++) {
+            whole.step();
+            newest.step();
+            ParallelDecisionTest.assertSameState(whole, newest, "rewind tick " + tick);
+        }
+    }
+
+    /**
+     * Creates a small world whose snakes keep playing.
+     * @return the world
+     */
+    private static SnakeWorld createWorld() {
+        SnakeWorld world = new SnakeWorld(WIDTH, HEIGHT, SNAKE_AMOUNT, FOOD_AMOUNT, TELEPORTER_AMOUNT, SEED);
+        world.toggleRespawnOnDeath();
+        return world;
+    }
+
+    /**
+     * Steps the world and asserts that it took a snapshot at the start of the tick.
+     * @param world the world
+     * @param message the message to fail with
+     */
+    private static void assertTickSnapshot(SnakeWorld world, String message) {
+        world.step();
+
+        SnakeSnapshot snapshot = world.getTickSnapshot();
+        assertNotNull(snapshot, message);
+        assertEquals(world.getTick() - 1, snapshot.getTick(), message);
+    }
+}
@@ -0,0 +1,75 @@
+package snake;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+/**
+ * Checks that worlds can be created at the bounds of their size and are rejected past them before anything is allocated.
+ */
+public class SnakeWorldTest {
+    public static final int SNAKE_AMOUNT = 1, FOOD_AMOUNT = 1, TELEPORTER_AMOUNT = 0;
+    public static final long SEED = 42;
+
+    @Test
+    public void minSizeIsCreated() {
+        SnakeWorld world = createWorld(SnakeWorld.MIN_SIZE, SnakeWorld.MIN_SIZE);
+        world.step();
+
+        assertEquals(SnakeWorld.MIN_SIZE, world.getMaxPosition().x - world.getMinPosition().x);
+    }
+
+    @Test
+    public void belowMinSizeIsRejected() {
+        assertRejected(SnakeWorld.MIN_SIZE - 1, SnakeWorld.MIN_SIZE);
+        assertRejected(SnakeWorld.MIN_SIZE, SnakeWorld.MIN_SIZE - 1);
+    }
+
+    @Test
+    public void maxSizeIsCreated() {
+        int height = OccupancyGrid.MAX_CELL_AMOUNT / SnakeWorld.MAX_SIZE;
+        SnakeWorld world = createWorld(SnakeWorld.MAX_SIZE, height);
+        world.step();
+
+        assertEquals(SnakeWorld.MAX_SIZE, world.getMaxPosition().x - world.getMinPosition().x);
+        assertEquals(height, world.getMaxPosition().y - world.getMinPosition().y);
+    }
+
+    @Test
+    public void aboveMaxSizeIsRejected() {
+        assertRejected(SnakeWorld.MAX_SIZE + 1, SnakeWorld.MIN_SIZE);
+        assertRejected(SnakeWorld.MIN_SIZE, SnakeWorld.MAX_SIZE + 1);
+    }
+
+    @Test
+    public void tooManyCellsAreRejected() {
+        assertRejected(SnakeWorld.MAX_SIZE, SnakeWorld.MAX_SIZE);
+        assertRejected(SnakeWorld.MAX_SIZE, OccupancyGrid.MAX_CELL_AMOUNT / SnakeWorld.MAX_SIZE + 1);
+    }
+
+    /**
+     * Creates a world with a single snake.
+     * @param width the world's width
+     * @param height the world's height
+     * @return the world
+     */
+    private static SnakeWorld createWorld(int width, int height) {
+        return new SnakeWorld(width, height, SNAKE_AMOUNT, FOOD_AMOUNT, TELEPORTER_AMOUNT, SEED);
+    }
+
+    /**
+     * Asserts that a world of a size is rejected.
+     * @param width the world's width
+     * @param height the world's height
+     */
+    private static void assertRejected(final int width, final int height) {
+        assertThrows(IllegalArgumentException.class, new Executable() {
+            @Override
+            public void execute() {
+                createWorld(width, height);
+            }
+        }, width + "x" + height);
+    }
+}
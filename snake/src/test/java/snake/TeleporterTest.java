@@ -0,0 +1,90 @@
+package snake;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+/**
+ * Checks that a teleporter's blocks only teleport to free cells, never onto each other, and that a teleporter fails
+ * instead of overlapping when the grid has no free cell.
+ */
+public class TeleporterTest {
+    public static final int WIDTH = 3, HEIGHT = 1, TELEPORTS = 1000;
+    public static final long SEED = 42;
+
+    @Test
+    public void blocksNeverShareACell() {
+        OccupancyGrid grid = createGrid();
+        Teleporter teleporter = createTeleporter(grid);
+
+        for(int i = 0; i < TELEPORTS; i++) {
+            teleporter.teleport();
+            assertFalse(teleporter.entranceBlock.position.equals(teleporter.exitBlock.position), "teleport " + i);
+            assertEquals(1, grid.getFreeCellAmount(), "teleport " + i);
+
+            assertTrue(teleporter.teleportOtherBlock(teleporter.entranceBlock));
+            assertFalse(teleporter.entranceBlock.position.equals(teleporter.exitBlock.position), "teleport " + i);
+            assertEquals(1, grid.getFreeCellAmount(), "teleport " + i);
+        }
+    }
+
+    @Test
+    public void fullGridIsRejected() {
+        final OccupancyGrid grid = createGrid();
+        final Teleporter teleporter = createTeleporter(grid);
+        grid.addFood(grid.getRandomFreeCell(new SnakeRandom(SEED)));
+
+        assertThrows(IllegalStateException.class, new Executable() {
+            @Override
+            public void execute() {
+                teleporter.teleportOtherBlock(teleporter.exitBlock);
+            }
+        });
+
+        assertThrows(IllegalStateException.class, new Executable() {
+            @Override
+            public void execute() {
+                createTeleporter(grid);
+            }
+        });
+    }
+
+    @Test
+    public void worldRejectsTeleportersThatDontFit() {
+        int cellAmount = SnakeWorld.MIN_SIZE * SnakeWorld.MIN_SIZE;
+        final int teleporterAmount = cellAmount / 2;
+
+        assertThrows(IllegalArgumentException.class, new Executable() {
+            @Override
+            public void execute() {
+                new SnakeWorld(SnakeWorld.MIN_SIZE, SnakeWorld.MIN_SIZE, 1, 1, teleporterAmount, SEED);
+            }
+        });
+
+        SnakeWorld world = new SnakeWorld(SnakeWorld.MIN_SIZE, SnakeWorld.MIN_SIZE, 0, 1, teleporterAmount, SEED);
+        assertEquals(teleporterAmount, world.getTeleporterList().size());
+    }
+
+    /**
+     * Creates a grid of three cells, one more than a teleporter takes.
+     * @return the grid
+     */
+    private static OccupancyGrid createGrid() {
+        return new OccupancyGrid(new Position(0, 0), new Position(WIDTH, HEIGHT));
+    }
+
+    /**
+     * Creates a teleporter on a grid.
+     * @param grid the grid
+     * @return the teleporter
+     */
+    private static Teleporter createTeleporter(OccupancyGrid grid) {
+        Teleporter teleporter = new Teleporter(new Position(0, 0), new Position(WIDTH, HEIGHT), new SnakeRandom(SEED));
+        teleporter.attachOccupancyGrid(grid);
+        return teleporter;
+    }
+}